@@ -0,0 +1,79 @@
+package com.example.course_management_system.config;
+
+import java.time.Duration;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-process caches for catalog reference data. Every cache is bounded in
+ * size and expires entries after a while as a safety net; the admin write
+ * paths evict the affected entries once their transaction commits, so a
+ * concurrent read cannot put the old row back before the new one is
+ * visible. Outside a transaction evictions happen right away. Hit/miss
+ * statistics are recorded and published through the actuator
+ * {@code cache.gets} metric.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CATEGORIES = "categories";
+    public static final String COURSES = "courses";
+    public static final String LESSONS = "lessons";
+    public static final String SPECIALIZATIONS = "specializations";
+    // Login details by username, for the authentication provider
+    public static final String USERS = "users";
+    // Current Users.version by user id, for PrincipalRefreshFilter
+    public static final String USER_VERSIONS = "userVersions";
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Fallback for any cache not registered below
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .recordStats());
+
+        cacheManager.registerCustomCache(CATEGORIES, Caffeine.newBuilder()
+            .maximumSize(100)
+            .expireAfterWrite(Duration.ofMinutes(30))
+            .recordStats()
+            .build());
+        cacheManager.registerCustomCache(COURSES, Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .recordStats()
+            .build());
+        cacheManager.registerCustomCache(LESSONS, Caffeine.newBuilder()
+            .maximumSize(5_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .recordStats()
+            .build());
+        cacheManager.registerCustomCache(SPECIALIZATIONS, Caffeine.newBuilder()
+            .maximumSize(5_000)
+            .expireAfterWrite(Duration.ofMinutes(30))
+            .recordStats()
+            .build());
+        // Short expiry: a role or password changed outside the application is picked up within minutes
+        cacheManager.registerCustomCache(USERS, Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .recordStats()
+            .build());
+        // Evicted here on a change; a change made through another node is seen once the entry expires
+        cacheManager.registerCustomCache(USER_VERSIONS, Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofSeconds(10))
+            .recordStats()
+            .build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.course_management_system.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.function.IntFunction;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+
+import com.example.course_management_system.models.CustomUserDetails;
+import com.example.course_management_system.models.TokenPrincipal;
+import com.example.course_management_system.models.Users;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Turns session attributes into the bytes stored by the JDBC session store.
+ * The security context keeps only the user id, role and user version, and
+ * comes back as a {@link TokenPrincipal} that reads the {@code Users} row
+ * when a page asks for it. CSRF tokens and strings are written field by
+ * field; anything else falls back to Java serialization. The size of every
+ * written attribute is recorded as the {@code session.attribute.bytes}
+ * summary, tagged with its kind.
+ */
+public class CompactSessionSerializer {
+
+    private static final byte JAVA = 0;
+    private static final byte SECURITY_CONTEXT = 1;
+    private static final byte CSRF_TOKEN = 2;
+    private static final byte STRING = 3;
+
+    private final IntFunction<Users> userLoader;
+    private final ClassLoader classLoader;
+    private final DistributionSummary[] sizes = new DistributionSummary[4];
+
+    public CompactSessionSerializer(IntFunction<Users> userLoader, ClassLoader classLoader, MeterRegistry meterRegistry) {
+        this.userLoader = userLoader;
+        this.classLoader = classLoader;
+        String[] kinds = {"java", "security-context", "csrf-token", "string"};
+        for (int i = 0; i < kinds.length; i++) {
+            sizes[i] = DistributionSummary.builder("session.attribute.bytes")
+                .description("Size of a session attribute as stored")
+                .baseUnit("bytes")
+                .tag("kind", kinds[i])
+                .register(meterRegistry);
+        }
+    }
+
+    public byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            byte kind = kindOf(value);
+            out.writeByte(kind);
+            switch (kind) {
+                case SECURITY_CONTEXT -> {
+                    Authentication authentication = ((SecurityContext) value).getAuthentication();
+                    if (authentication.getPrincipal() instanceof CustomUserDetails details) {
+                        Users user = details.getUser();
+                        out.writeInt(user.getUserId());
+                        out.writeUTF(user.getRole());
+                        out.writeLong(details.getVersion());
+                    } else {
+                        TokenPrincipal principal = (TokenPrincipal) authentication.getPrincipal();
+                        out.writeInt(principal.getUserId());
+                        out.writeUTF(principal.getRole());
+                        out.writeLong(principal.getVersion());
+                    }
+                }
+                case CSRF_TOKEN -> {
+                    CsrfToken token = (CsrfToken) value;
+                    out.writeUTF(token.getHeaderName());
+                    out.writeUTF(token.getParameterName());
+                    out.writeUTF(token.getToken());
+                }
+                case STRING -> out.writeUTF((String) value);
+                default -> {
+                    ObjectOutputStream objects = new ObjectOutputStream(out);
+                    objects.writeObject(value);
+                    objects.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize session attribute of type " + value.getClass().getName(), e);
+        }
+        byte[] result = bytes.toByteArray();
+        sizes[result[0]].record(result.length);
+        return result;
+    }
+
+    public Object deserialize(byte[] value) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(value))) {
+            byte kind = in.readByte();
+            switch (kind) {
+                case SECURITY_CONTEXT: {
+                    TokenPrincipal principal = new TokenPrincipal(in.readInt(), in.readUTF(), in.readLong(), 0, userLoader);
+                    return new SecurityContextImpl(SignedTokenSecurityContextRepository.authentication(principal));
+                }
+                case CSRF_TOKEN:
+                    return new DefaultCsrfToken(in.readUTF(), in.readUTF(), in.readUTF());
+                case STRING:
+                    return in.readUTF();
+                case JAVA:
+                    try (ObjectInputStream objects = new ConfigurableObjectInputStream(in, classLoader)) {
+                        return objects.readObject();
+                    }
+                default:
+                    throw new IllegalArgumentException("Unknown session attribute kind " + kind);
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Cannot deserialize session attribute", e);
+        }
+    }
+
+    private static byte kindOf(Object value) {
+        if (value instanceof SecurityContext context && context.getAuthentication() != null
+                && (context.getAuthentication().getPrincipal() instanceof CustomUserDetails
+                    || context.getAuthentication().getPrincipal() instanceof TokenPrincipal)) {
+            return SECURITY_CONTEXT;
+        }
+        if (value instanceof CsrfToken) {
+            return CSRF_TOKEN;
+        }
+        // writeUTF takes at most 65535 encoded bytes
+        if (value instanceof String string && string.length() <= 65535 / 3) {
+            return STRING;
+        }
+        if (value instanceof Serializable) {
+            return JAVA;
+        }
+        throw new IllegalArgumentException("Session attribute of type " + value.getClass().getName() + " is not serializable");
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.course_management_system.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Sends read-only transactions to the read replica and everything else to
+ * the primary. The primary pool is configured under {@code spring.datasource}
+ * as before; a replica pool is only created when
+ * {@code replica.datasource.jdbc-url} is set, and without one all
+ * connections come from the primary.
+ *
+ * The choice is made when a connection runs its first statement, by which
+ * time the transaction has marked it read-only, so
+ * {@code @Transactional(readOnly = true)} methods (and the inherited
+ * {@code findById}/{@code findAll} of the repositories) read from the
+ * replica. Such reads can lag behind a write that has just committed.
+ * Hibernate hands its connection back at the end of every transaction
+ * ({@code hibernate.connection.handling_mode}), so a write that follows a
+ * read-only transaction on the same session still goes to the primary.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("replica.datasource")
+    @ConditionalOnProperty("replica.datasource.jdbc-url")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replica) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        replica.ifAvailable(dataSource::setReadOnlyDataSource);
+        return dataSource;
+    }
+}
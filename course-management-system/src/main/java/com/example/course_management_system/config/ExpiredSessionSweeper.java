@@ -0,0 +1,48 @@
+package com.example.course_management_system.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Deletes expired rows from the JDBC session store in the background, in
+ * batches of {@code session.sweep-batch-size}. Each batch commits on its
+ * own, so a large backlog of expired sessions never holds locks on the
+ * session table for long while requests are reading it. Attributes go with
+ * their session through the table's cascading foreign key.
+ */
+public class ExpiredSessionSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiredSessionSweeper.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String deleteQuery;
+    private final int batchSize;
+
+    public ExpiredSessionSweeper(JdbcTemplate jdbcTemplate, String tableName, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The sweep batch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        // TOP works on SQL Server and H2 alike
+        this.deleteQuery = "DELETE TOP (?) FROM " + tableName + " WHERE EXPIRY_TIME < ?";
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${session.sweep-interval:PT1M}", initialDelayString = "${session.sweep-interval:PT1M}")
+    public int sweep() {
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(deleteQuery, batchSize, now);
+            total += deleted;
+        } while (deleted == batchSize);
+        if (total > 0) {
+            logger.info("Deleted {} expired sessions in {} ms", total, (System.nanoTime() - start) / 1_000_000);
+        }
+        return total;
+    }
+}
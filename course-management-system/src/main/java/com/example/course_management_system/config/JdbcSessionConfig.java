@@ -0,0 +1,109 @@
+package com.example.course_management_system.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.session.JdbcSessionDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.session.JdbcSessionProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.FlushMode;
+import org.springframework.session.IndexResolver;
+import org.springframework.session.SaveMode;
+import org.springframework.session.Session;
+import org.springframework.session.config.SessionRepositoryCustomizer;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
+
+import com.example.course_management_system.models.CustomUserDetails;
+import com.example.course_management_system.services.UserService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * With {@code security.session.mode=jdbc} the HTTP session is kept in the
+ * {@code SPRING_SESSION} tables through Spring Session, so every node sees
+ * the same logins. Boot's session auto-configuration is excluded, as it
+ * would turn the store on in every mode; the table name and schema
+ * creation still follow {@code spring.session.jdbc}.
+ *
+ * Attributes set during a request are written together when it completes,
+ * as one batch, and only those that were set. They are encoded by
+ * {@link CompactSessionSerializer}, and expired sessions are removed by
+ * {@link ExpiredSessionSweeper} instead of the built-in cleanup, which
+ * deletes them all in one statement.
+ */
+@Configuration
+@ConditionalOnProperty(name = "security.session.mode", havingValue = "jdbc")
+@EnableJdbcHttpSession(flushMode = FlushMode.ON_SAVE, saveMode = SaveMode.ON_SET_ATTRIBUTE, cleanupCron = Scheduled.CRON_DISABLED)
+@EnableConfigurationProperties(JdbcSessionProperties.class)
+public class JdbcSessionConfig {
+
+    @Value("${server.servlet.session.timeout:30m}")
+    private Duration sessionTimeout;
+
+    @Value("${session.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    @Bean
+    public JdbcSessionDataSourceScriptDatabaseInitializer jdbcSessionDataSourceScriptDatabaseInitializer(DataSource dataSource, JdbcSessionProperties properties) {
+        return new JdbcSessionDataSourceScriptDatabaseInitializer(dataSource, properties);
+    }
+
+    @Bean
+    public SessionRepositoryCustomizer<JdbcIndexedSessionRepository> sessionRepositoryCustomizer(JdbcSessionProperties properties) {
+        return repository -> {
+            repository.setTableName(properties.getTableName());
+            repository.setDefaultMaxInactiveInterval(sessionTimeout);
+        };
+    }
+
+    // By user id from the start, the name the trimmed principal comes back with
+    @Bean
+    public IndexResolver<Session> sessionIndexResolver() {
+        return session -> {
+            SecurityContext context = session.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+            if (context == null || context.getAuthentication() == null) {
+                return Map.of();
+            }
+            Authentication authentication = context.getAuthentication();
+            String name = authentication.getPrincipal() instanceof CustomUserDetails details
+                ? String.valueOf(details.getUser().getUserId())
+                : authentication.getName();
+            return Map.of(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, name);
+        };
+    }
+
+    @Bean
+    public CompactSessionSerializer compactSessionSerializer(UserService userService, MeterRegistry meterRegistry) {
+        return new CompactSessionSerializer(userId -> userService.findUserById(userId).orElse(null),
+            getClass().getClassLoader(), meterRegistry);
+    }
+
+    // Picked up by name by the JDBC session repository
+    @Bean
+    public ConversionService springSessionConversionService(CompactSessionSerializer serializer) {
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, serializer::serialize);
+        conversionService.addConverter(byte[].class, Object.class, serializer::deserialize);
+        return conversionService;
+    }
+
+    @Bean
+    public ExpiredSessionSweeper expiredSessionSweeper(DataSource dataSource, JdbcSessionProperties properties) {
+        return new ExpiredSessionSweeper(new JdbcTemplate(dataSource), properties.getTableName(), sweepBatchSize);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.course_management_system.config;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.course_management_system.models.CustomUserDetails;
+import com.example.course_management_system.models.TokenPrincipal;
+import com.example.course_management_system.models.Users;
+import com.example.course_management_system.services.UserService;
+import com.example.course_management_system.services.UserVersionRegistry;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Keeps the {@code Users} held by the logged-in principal current, so a
+ * profile edit shows on the next page without logging in again. Each request
+ * compares the principal's version with the row's, usually cached; the row
+ * is only read again after it changed. A user deleted in the meantime is
+ * logged out. A trimmed {@link TokenPrincipal} is replaced instead: in the
+ * token cookie in stateless mode, in the session in JDBC session mode.
+ */
+public class PrincipalRefreshFilter extends OncePerRequestFilter {
+
+    private final UserVersionRegistry userVersionRegistry;
+    private final UserService userService;
+    // Only in stateless mode
+    private final SignedTokenCodec tokenCodec;
+
+    public PrincipalRefreshFilter(UserVersionRegistry userVersionRegistry, UserService userService, SignedTokenCodec tokenCodec) {
+        this.userVersionRegistry = userVersionRegistry;
+        this.userService = userService;
+        this.tokenCodec = tokenCodec;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails) {
+            CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
+            int userId = principal.getUser().getUserId();
+            if (isStale(userId, principal.getVersion())) {
+                Optional<Users> user = userService.reloadUser(userId);
+                if (user.isPresent()) {
+                    principal.refresh(user.get(), user.get().getVersion());
+                } else {
+                    SecurityContextHolder.clearContext();
+                    HttpSession session = request.getSession(false);
+                    if (session != null) {
+                        session.invalidate();
+                    }
+                }
+            }
+        } else if (authentication != null && authentication.getPrincipal() instanceof TokenPrincipal) {
+            // The stored role may be out of date: store a principal built from the current row
+            TokenPrincipal principal = (TokenPrincipal) authentication.getPrincipal();
+            if (isStale(principal.getUserId(), principal.getVersion())) {
+                Optional<Users> user = userService.reloadUser(principal.getUserId());
+                HttpSession session = request.getSession(false);
+                if (user.isPresent()) {
+                    long version = user.get().getVersion();
+                    TokenPrincipal refreshed = tokenCodec != null
+                        ? tokenCodec.writeCookie(response, principal.getUserId(), user.get().getRole(), version)
+                        : principal.refresh(user.get(), version);
+                    SecurityContext context = SecurityContextHolder.getContext();
+                    context.setAuthentication(SignedTokenSecurityContextRepository.authentication(refreshed));
+                    if (session != null) {
+                        // Set again so the JDBC session store writes it back
+                        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+                    }
+                } else {
+                    if (tokenCodec != null) {
+                        tokenCodec.clearCookie(response);
+                    }
+                    SecurityContextHolder.clearContext();
+                    if (session != null) {
+                        session.invalidate();
+                    }
+                }
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // Also when the user has been deleted
+    private boolean isStale(int userId, long version) {
+        Long current = userVersionRegistry.currentVersion(userId);
+        return current == null || current > version;
+    }
+}
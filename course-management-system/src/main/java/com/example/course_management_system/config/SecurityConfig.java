@@ -1,17 +1,33 @@
 package com.example.course_management_system.config;
 
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.cache.SpringCacheBasedUserCache;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.NoOpPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 
 import com.example.course_management_system.services.CustomUserDetailsService;
+import com.example.course_management_system.services.UserService;
+import com.example.course_management_system.services.UserVersionRegistry;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 
 @Configuration
@@ -21,26 +37,74 @@ public class SecurityConfig {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    // Pick with PasswordHashBenchmark; every step doubles the time of a login
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.password.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${security.password.hash-queue:200}")
+    private int hashQueue;
+
+    @Value("${security.password.hash-timeout:PT5S}")
+    private Duration hashTimeout;
+
+    // "session" keeps the login in the HTTP session, "jdbc" in a session shared through the database
+    // (see JdbcSessionConfig), "stateless" in a signed cookie
+    @Value("${security.session.mode:session}")
+    private String sessionMode;
+
+    // Base64, at least 32 bytes, the same on every node
+    @Value("${security.token.secret:}")
+    private String tokenSecret;
+
+    @Value("${security.token.ttl:PT8H}")
+    private Duration tokenTtl;
+
+    @Value("${security.token.secure-cookie:false}")
+    private boolean tokenSecureCookie;
+
     @Bean
     public UserDetailsService userDetailsService() {
         return new CustomUserDetailsService();
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+    public DaoAuthenticationProvider authenticationProvider(CacheManager cacheManager, MeterRegistry meterRegistry) throws Exception {
+        DaoAuthenticationProvider authProvider = new TimedAuthenticationProvider(meterRegistry);
         authProvider.setUserDetailsService(userDetailsService());
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(customUserDetailsService);
+        // A wrong password against a cached user is checked again against the database before failing
+        authProvider.setUserCache(new SpringCacheBasedUserCache(cacheManager.getCache(CacheConfig.USERS)));
          
         return authProvider;
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, UserVersionRegistry userVersionRegistry, UserService userService) throws Exception {
+        SignedTokenCodec tokenCodec = null;
+        if ("stateless".equals(sessionMode)) {
+            // No session at all: the login lives in a signed cookie, so any node can serve any request
+            tokenCodec = tokenCodec(userService);
+            SignedTokenCodec codec = tokenCodec;
+            http
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .securityContext(context -> context.securityContextRepository(new SignedTokenSecurityContextRepository(codec)))
+                .csrf(csrf -> csrf.csrfTokenRepository(new CookieCsrfTokenRepository()))
+                .requestCache(cache -> cache.requestCache(new NullRequestCache()))
+                .logout(config -> config.addLogoutHandler((request, response, authentication) -> codec.clearCookie(response)));
+        } else if (!"session".equals(sessionMode) && !"jdbc".equals(sessionMode)) {
+            throw new IllegalArgumentException("Unknown security.session.mode: " + sessionMode);
+        }
+
         http
-            
+            .addFilterBefore(new PrincipalRefreshFilter(userVersionRegistry, userService, tokenCodec), AuthorizationFilter.class)
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/admin/**", "/admin").hasAuthority("admin")
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasAuthority("admin")
                 .requestMatchers("/student/**", "/student").hasAuthority("student") 
                 .anyRequest().permitAll()
                 // .requestMatchers("/student/**").authenticated()                   
@@ -68,10 +132,29 @@ public class SecurityConfig {
         return http.build();
     }
 
-   
+    private SignedTokenCodec tokenCodec(UserService userService) {
+        if (tokenSecret.isBlank()) {
+            throw new IllegalStateException("security.token.secret must be set when security.session.mode=stateless");
+        }
+        return new SignedTokenCodec(Base64.getDecoder().decode(tokenSecret), tokenTtl, tokenSecureCookie,
+            userId -> userService.findUserById(userId).orElse(null));
+    }
+
+    /**
+     * New passwords are stored as {@code {bcrypt}} hashes. Existing ones are
+     * plaintext without an id prefix and still match as such; a successful
+     * login with one, or with a hash of an older strength, stores a fresh hash.
+     */
     @SuppressWarnings("deprecation")
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return NoOpPasswordEncoder.getInstance();
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder() {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of(
+            "bcrypt", new BCryptPasswordEncoder(bcryptStrength),
+            "noop", NoOpPasswordEncoder.getInstance()));
+        encoder.setDefaultPasswordEncoderForMatches(NoOpPasswordEncoder.getInstance());
+
+        // Half the cores by default, so a login spike leaves the rest to rendering pages
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(encoder, threads, hashQueue, hashTimeout);
     }
 }
@@ -0,0 +1,128 @@
+package com.example.course_management_system.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.IntFunction;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+
+import com.example.course_management_system.models.TokenPrincipal;
+import com.example.course_management_system.models.Users;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Issues and checks the login cookie of stateless mode: the user id, role,
+ * user version (the row's {@code version}, which every node reads alike) and
+ * expiry, signed with HMAC-SHA256 under a secret shared by every node.
+ * Checking a token needs no database and no session, so any node can serve
+ * any request.
+ */
+public class SignedTokenCodec {
+
+    public static final String COOKIE_NAME = "AUTH";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final boolean secureCookie;
+    private final IntFunction<Users> userLoader;
+
+    public SignedTokenCodec(byte[] secret, Duration ttl, boolean secureCookie, IntFunction<Users> userLoader) {
+        if (secret.length < 32) {
+            throw new IllegalArgumentException("The token secret must be at least 32 bytes");
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.ttl = ttl;
+        this.secureCookie = secureCookie;
+        this.userLoader = userLoader;
+    }
+
+    // Sets the cookie for a new token and returns its principal
+    public TokenPrincipal writeCookie(HttpServletResponse response, int userId, String role, long version) {
+        long expiresAt = Instant.now().plus(ttl).getEpochSecond();
+        String payload = userId + ":" + role + ":" + version + ":" + expiresAt;
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        String token = ENCODER.encodeToString(bytes) + "." + ENCODER.encodeToString(sign(bytes));
+        addCookie(response, token, ttl);
+        return new TokenPrincipal(userId, role, version, expiresAt, userLoader);
+    }
+
+    public void clearCookie(HttpServletResponse response) {
+        addCookie(response, "", Duration.ZERO);
+    }
+
+    // The principal of the request's token, or null when there is none or it is forged, malformed or expired
+    public TokenPrincipal read(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return verify(cookie.getValue());
+            }
+        }
+        return null;
+    }
+
+    TokenPrincipal verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return null;
+            }
+            String[] fields = new String(payload, StandardCharsets.UTF_8).split(":");
+            if (fields.length != 4) {
+                return null;
+            }
+            long expiresAt = Long.parseLong(fields[3]);
+            if (expiresAt < Instant.now().getEpochSecond()) {
+                return null;
+            }
+            return new TokenPrincipal(Integer.parseInt(fields[0]), fields[1], Long.parseLong(fields[2]), expiresAt, userLoader);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            // Mac instances are not thread-safe, and creating one is cheap next to a request
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign login token", e);
+        }
+    }
+
+    private void addCookie(HttpServletResponse response, String value, Duration maxAge) {
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, value)
+            .path("/")
+            .httpOnly(true)
+            .secure(secureCookie)
+            .sameSite("Lax")
+            .maxAge(maxAge)
+            .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+}
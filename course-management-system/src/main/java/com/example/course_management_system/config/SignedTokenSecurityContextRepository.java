@@ -0,0 +1,62 @@
+package com.example.course_management_system.config;
+
+import java.util.Collections;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+
+import com.example.course_management_system.models.CustomUserDetails;
+import com.example.course_management_system.models.TokenPrincipal;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps the security context in the signed token cookie instead of the
+ * HTTP session: a login writes the cookie, and every request rebuilds a
+ * {@link TokenPrincipal} from it.
+ */
+public class SignedTokenSecurityContextRepository implements SecurityContextRepository {
+
+    private final SignedTokenCodec codec;
+
+    public SignedTokenSecurityContextRepository(SignedTokenCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    @Deprecated
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        TokenPrincipal principal = codec.read(requestResponseHolder.getRequest());
+        if (principal != null) {
+            context.setAuthentication(authentication(principal));
+        }
+        return context;
+    }
+
+    // Only a fresh login needs a cookie; a token principal already came from one
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        Authentication authentication = context.getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails) {
+            CustomUserDetails details = (CustomUserDetails) authentication.getPrincipal();
+            codec.writeCookie(response, details.getUser().getUserId(), details.getUser().getRole(), details.getVersion());
+        }
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+        return codec.read(request) != null;
+    }
+
+    static Authentication authentication(TokenPrincipal principal) {
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null,
+            Collections.singleton(new SimpleGrantedAuthority(principal.getRole())));
+    }
+}
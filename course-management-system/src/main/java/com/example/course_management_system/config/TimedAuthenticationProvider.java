@@ -0,0 +1,47 @@
+package com.example.course_management_system.config;
+
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the time of every username/password check as the
+ * {@code login.authentication} timer, tagged with its outcome, so login
+ * latency can be followed through the actuator metrics endpoint.
+ */
+public class TimedAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final MeterRegistry meterRegistry;
+    private final Timer succeeded;
+    private final Timer failed;
+
+    public TimedAuthenticationProvider(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.succeeded = timer("success");
+        this.failed = timer("failure");
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Authentication result = super.authenticate(authentication);
+            sample.stop(succeeded);
+            return result;
+        } catch (AuthenticationException e) {
+            sample.stop(failed);
+            throw e;
+        }
+    }
+
+    private Timer timer(String outcome) {
+        return Timer.builder("login.authentication")
+            .description("Time to check a username and password")
+            .tag("outcome", outcome)
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    }
+}
@@ -1,12 +1,20 @@
 package com.example.course_management_system.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,20 +23,35 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.example.course_management_system.models.AdminDashboard;
 import com.example.course_management_system.models.Categories;
+import com.example.course_management_system.models.CourseFilter;
+import com.example.course_management_system.models.CourseImportResult;
+import com.example.course_management_system.models.CoursePage;
+import com.example.course_management_system.models.CourseRatingStats;
+import com.example.course_management_system.models.CourseSort;
 import com.example.course_management_system.models.Courses;
-import com.example.course_management_system.models.Enrollments;
+import com.example.course_management_system.models.EnrollmentSummary;
+import com.example.course_management_system.models.InstructorPage;
 import com.example.course_management_system.models.Lessons;
 import com.example.course_management_system.models.Reviews;
-import com.example.course_management_system.models.Specializations;
+import com.example.course_management_system.models.StudentPage;
 import com.example.course_management_system.models.Users;
+import com.example.course_management_system.services.AdminDashboardService;
+import com.example.course_management_system.services.BulkIngestionService;
 import com.example.course_management_system.services.CategoryService;
+import com.example.course_management_system.services.CourseImportService;
 import com.example.course_management_system.services.CourseService;
 import com.example.course_management_system.services.EnrollmentService;
+import com.example.course_management_system.services.InstructorAnalyticsService;
 import com.example.course_management_system.services.LessonService;
+import com.example.course_management_system.services.PageDataLoader;
 import com.example.course_management_system.services.ReviewService;
-import com.example.course_management_system.services.SpecializationService;
+import com.example.course_management_system.services.StudentRosterService;
 import com.example.course_management_system.services.UserService;
 
 @Controller
@@ -41,16 +64,26 @@ public class AdminController {
     private LessonService lessonService;
     private UserService userService;
     private CategoryService categoryService;
-    private SpecializationService specializationService;
+    private AdminDashboardService adminDashboardService;
+    private CourseImportService courseImportService;
+    private BulkIngestionService bulkIngestionService;
+    private InstructorAnalyticsService instructorAnalyticsService;
+    private StudentRosterService studentRosterService;
+    private PageDataLoader pageDataLoader;
     
-    public AdminController(CourseService courseService, EnrollmentService enrollmentService, ReviewService reviewService, LessonService lessonService, UserService userService, CategoryService categoryService, SpecializationService specializationService) {
+    public AdminController(CourseService courseService, EnrollmentService enrollmentService, ReviewService reviewService, LessonService lessonService, UserService userService, CategoryService categoryService, AdminDashboardService adminDashboardService, CourseImportService courseImportService, BulkIngestionService bulkIngestionService, InstructorAnalyticsService instructorAnalyticsService, StudentRosterService studentRosterService, PageDataLoader pageDataLoader) {
         this.courseService = courseService;
         this.enrollmentService = enrollmentService;
         this.reviewService = reviewService;
         this.lessonService = lessonService;
         this.userService = userService;
         this.categoryService = categoryService;
-        this.specializationService = specializationService;
+        this.adminDashboardService = adminDashboardService;
+        this.courseImportService = courseImportService;
+        this.bulkIngestionService = bulkIngestionService;
+        this.instructorAnalyticsService = instructorAnalyticsService;
+        this.studentRosterService = studentRosterService;
+        this.pageDataLoader = pageDataLoader;
     }
 
     @RequestMapping("/admin")
@@ -60,102 +93,54 @@ public class AdminController {
             model.addAttribute("admin", admin);
         }
 
-        List<Courses> courses = courseService.getAllCourses();
-        List<Users> students = userService.getAllStudents("student");
-        List<Users> instructors = userService.getAllStudents("instructor");
-        List<Reviews> reviews = reviewService.getAllReviews();
-
-        Map<Integer, Integer> totalCoursesOfEachInstructor = new HashMap<>();
-        Map<Integer, Integer> totalStudentsOfEachInstructor = new HashMap<>();
-        Map<Integer, Integer> totalReviewsOfEachInstructor = new HashMap<>();
-
-        for (Users instructor : instructors) {
-            List<Courses> courseOfInstructor = courseService.getCourseByInstructor(instructor.getUserId());
-            totalCoursesOfEachInstructor.put(instructor.getUserId(), courseOfInstructor.size());
-
-            int totalStudentsEnroll = 0;
-            int totalReviews = 0;
-
-            for (Courses course : courseOfInstructor) {
-                List<Enrollments> enrolls = enrollmentService.getEnrollmentsByCourseId(course.getCourseId());
-                List<Reviews> reviewsCourse = reviewService.getReviewsByCourseId(course.getCourseId());
-                totalStudentsEnroll += enrolls.size();
-                totalReviews += reviewsCourse.size();
-            }
-            totalStudentsOfEachInstructor.put(instructor.getUserId(), totalStudentsEnroll);
-            totalReviewsOfEachInstructor.put(instructor.getUserId(), totalReviews);
-        }
-
-        List<Users> sortedInstructors = instructors.stream()
-            .sorted((u1, u2) -> Integer.compare(
-                totalStudentsOfEachInstructor.get(u2.getUserId()),
-                totalStudentsOfEachInstructor.get(u1.getUserId())
-            ))
-            .limit(5)
-            .collect(Collectors.toList());
-
-        Map<Integer, Integer> totalCoursesOfEachStudent = new HashMap<>();
-        Map<Integer, Integer> completedCoursesOfEachStudent = new HashMap<>();
-
-        for (Users student : students) {
-            List<Enrollments> enrollments = enrollmentService.getEnrollmentsByUserId(student.getUserId());
-            totalCoursesOfEachStudent.put(student.getUserId(), enrollments.size());
-
-            int completedCoursesCount = (int) enrollments.stream()
-                    .filter(enrollment -> "completed".equalsIgnoreCase(enrollment.getStatus())) 
-                    .count();
-            completedCoursesOfEachStudent.put(student.getUserId(), completedCoursesCount);
-        }
-
-        List<Users> sortedStudents = students.stream()
-            .sorted((u3, u4) -> Integer.compare(
-                totalCoursesOfEachStudent.get(u4.getUserId()),
-                totalCoursesOfEachStudent.get(u3.getUserId())
-                ))
-            .limit(5)
-            .collect(Collectors.toList());
-
-        List<Courses> lastSixCourses = courses.stream()
-            .sorted((c1, c2) -> Integer.compare(c2.getCourseId(), c1.getCourseId()))
-            .limit(5)
-            .collect(Collectors.toList());
-
-        model.addAttribute("courses", lastSixCourses);
-        model.addAttribute("students", sortedStudents);
-        model.addAttribute("instructors", sortedInstructors);
-        model.addAttribute("totalCourses", courses.size());
-        model.addAttribute("totalStudents", students.size());
-        model.addAttribute("totalInstructors", instructors.size());
-        model.addAttribute("totalReviews", reviews.size());
-        model.addAttribute("totalCoursesOfEachStudent", totalCoursesOfEachStudent);
-        model.addAttribute("completedCoursesOfEachStudent", completedCoursesOfEachStudent);
-        model.addAttribute("totalCoursesOfEachInstructor", totalCoursesOfEachInstructor);
-        model.addAttribute("totalStudentsOfEachInstructor", totalStudentsOfEachInstructor);
-        model.addAttribute("totalReviewsOfEachInstructor", totalReviewsOfEachInstructor);
+        AdminDashboard dashboard = adminDashboardService.getDashboard();
+
+        model.addAttribute("courses", dashboard.getLatestCourses());
+        model.addAttribute("students", dashboard.getTopStudents());
+        model.addAttribute("instructors", dashboard.getTopInstructors());
+        model.addAttribute("totalCourses", dashboard.getTotalCourses());
+        model.addAttribute("totalStudents", dashboard.getTotalStudents());
+        model.addAttribute("totalInstructors", dashboard.getTotalInstructors());
+        model.addAttribute("totalReviews", dashboard.getTotalReviews());
+        model.addAttribute("totalCoursesOfEachStudent", dashboard.getTotalCoursesOfEachStudent());
+        model.addAttribute("completedCoursesOfEachStudent", dashboard.getCompletedCoursesOfEachStudent());
+        model.addAttribute("totalCoursesOfEachInstructor", dashboard.getTotalCoursesOfEachInstructor());
+        model.addAttribute("totalStudentsOfEachInstructor", dashboard.getTotalStudentsOfEachInstructor());
+        model.addAttribute("totalReviewsOfEachInstructor", dashboard.getTotalReviewsOfEachInstructor());
         model.addAttribute("pageUrl", "/admin");
         return "admin"; 
     }
 
     // Show all courses
     @GetMapping("/admin/courses")
-    public String adminAllCourse(Model model) {
+    public String adminAllCourse(@RequestParam(value = "category", required = false) Integer categoryId,
+                                 @RequestParam(value = "level", required = false) String skillLevel,
+                                 @RequestParam(value = "status", required = false) String status,
+                                 @RequestParam(value = "sort", required = false) String sort,
+                                 @RequestParam(value = "size", defaultValue = "20") int size,
+                                 @RequestParam(value = "after", required = false) String after,
+                                 Model model) {
         try {
             Users admin = AuthenticationUtils.getAuthenticatedUser(); 
             if (admin != null) {
                 model.addAttribute("admin", admin);
             }
 
-            List<Courses> coursesInAd = courseService.getAllCourses();
-            
-            Map<Integer, Integer> totalStudentsPerCourse = new HashMap<>();
+            CourseSort courseSort = CourseSort.from(sort);
+            CoursePage page = courseService.getCoursePage(new CourseFilter(categoryId, skillLevel, status), courseSort, after, size);
+            List<Courses> coursesInAd = page.getCourses();
 
-            for (Courses course : coursesInAd) {
-                List<Enrollments> enrollments = enrollmentService.getEnrollmentsByCourseId(course.getCourseId());
-                totalStudentsPerCourse.put(course.getCourseId(), enrollments.size());
-            }
+            Map<Integer, Integer> totalStudentsPerCourse = enrollmentService.getEnrollmentCounts(
+                coursesInAd.stream().map(Courses::getCourseId).collect(Collectors.toList()));
 
             model.addAttribute("coursesInAd", coursesInAd);
             model.addAttribute("totalStudentsPerCourse", totalStudentsPerCourse);
+            model.addAttribute("category", categoryId);
+            model.addAttribute("level", skillLevel);
+            model.addAttribute("status", status);
+            model.addAttribute("sort", courseSort.getParam());
+            model.addAttribute("size", size);
+            model.addAttribute("nextCursor", page.getNextCursor());
             model.addAttribute("pageUrl", "/admin/courses");
 
             return "admin-all-course";
@@ -168,7 +153,7 @@ public class AdminController {
 
     @PostMapping("/admin/change-status")
     public String adminChangeStatus(Model model, @RequestParam("courseId") int courseId) {
-        Optional<Courses> courseChangeStatus = courseService.getCourseById(courseId);
+        Optional<Courses> courseChangeStatus = courseService.getCourseForUpdate(courseId);
         if (courseChangeStatus.isPresent()) {
             Courses course = courseChangeStatus.get();
             if ("draft".equalsIgnoreCase(course.getStatus())) {
@@ -191,18 +176,15 @@ public class AdminController {
         }
 
         List<Categories> allCategories = categoryService.getAllCategories();
+        Map<Integer, Integer> countsById = courseService.getCourseCountsByCategory();
 
-        Map<String, List<Courses>> coursesByCategory = new HashMap<>();
         Map<String, Integer> totalByCategory = new HashMap<>();
 
         for (Categories category : allCategories) {
-            List<Courses> courses = courseService.getAllCourseByCategory(category);
-            coursesByCategory.put(category.getName(), courses);
-            totalByCategory.put(category.getName(), courses.size());
+            totalByCategory.put(category.getName(), countsById.getOrDefault(category.getCategoryId(), 0));
         }
 
         model.addAttribute("categories", allCategories);
-        model.addAttribute("coursesByCategory", coursesByCategory);
         model.addAttribute("totalByCategory", totalByCategory);
         model.addAttribute("pageUrl", "/admin/courses/category");
         return "admin-category"; 
@@ -219,19 +201,17 @@ public class AdminController {
 
         List<Courses> coursesCategory = courseService.getAllCourseByCategory(categoryEntity);
 
-        Map<Integer, Integer> totalStudentsPerCourse = new HashMap<>();
-
-        for (Courses course : coursesCategory) {
-            List<Enrollments> enrollments = enrollmentService.getEnrollmentsByCourseId(course.getCourseId());
-            totalStudentsPerCourse.put(course.getCourseId(), enrollments.size());
-        }
+        Map<Integer, Integer> totalStudentsPerCourse = enrollmentService.getEnrollmentCounts(
+            coursesCategory.stream().map(Courses::getCourseId).collect(Collectors.toList()));
 
         int courseCount = coursesCategory.size();
 
         Map<Integer, Double> courseRatings = new HashMap<>();
+        Map<Integer, CourseRatingStats> ratingStats = reviewService.getRatingStats(
+            coursesCategory.stream().map(Courses::getCourseId).collect(Collectors.toList()));
 
         for (Courses courseCategory : coursesCategory) {
-            double averageRating = reviewService.calculateAverageRating(courseCategory.getCourseId());
+            double averageRating = ratingStats.get(courseCategory.getCourseId()).getAverageRating();
             courseRatings.put(courseCategory.getCourseId(), averageRating);
 
             courseCategory.setAverageRating(averageRating);
@@ -253,14 +233,25 @@ public class AdminController {
             model.addAttribute("admin", admin);
         }
 
-        Optional<Courses> courseDetail = courseService.getCourseById(courseId);
-        List<Reviews> reviewsOfCourse = reviewService.getReviewsByCourseId(courseId);
-        double averageRating = reviewService.calculateAverageRating(courseId);
-
-        List<Enrollments> enrollments = enrollmentService.getEnrollmentsByCourseId(courseId);
-        int totalStudentsPerCourse = enrollments.size();
-
-        List<Lessons> lessons = lessonService.getAllLessonsOfCourse(courseId);
+        Optional<Courses> courseDetail;
+        List<Reviews> reviewsOfCourse;
+        double averageRating;
+        int totalStudentsPerCourse;
+        List<Lessons> lessons;
+        try (PageDataLoader.PageLoad load = pageDataLoader.begin()) {
+            Supplier<Optional<Courses>> courseLoad = load.fork(() -> courseService.getCourseById(courseId));
+            Supplier<List<Reviews>> reviewLoad = load.fork(() -> reviewService.getReviewsByCourseId(courseId));
+            Supplier<Double> ratingLoad = load.fork(() -> reviewService.calculateAverageRating(courseId));
+            Supplier<Integer> studentLoad = load.fork(() -> enrollmentService.getEnrollmentCounts(List.of(courseId)).get(courseId));
+            Supplier<List<Lessons>> lessonLoad = load.fork(() -> lessonService.getAllLessonsOfCourse(courseId));
+            load.join();
+
+            courseDetail = courseLoad.get();
+            reviewsOfCourse = reviewLoad.get();
+            averageRating = ratingLoad.get();
+            totalStudentsPerCourse = studentLoad.get();
+            lessons = lessonLoad.get();
+        }
         int totalLessons = lessons.size();
 
 
@@ -286,6 +277,7 @@ public class AdminController {
         }
 
         model.addAttribute("course", new Courses());
+        model.addAttribute("categories", categoryService.getAllCategories());
         model.addAttribute("pageUrl", "/admin/add-course");
         return "admin-add-course"; 
     }
@@ -301,13 +293,14 @@ public class AdminController {
         if (courseEdit.isPresent()) {
             model.addAttribute("course", courseEdit.get());
         }
+        model.addAttribute("categories", categoryService.getAllCategories());
         model.addAttribute("pageUrl", "/admin/edit-course");
         return "admin-edit-course"; 
     }
 
     @PostMapping("/admin/update-course")
     public String updateCourse(@ModelAttribute("course") Courses course, int courseId) {
-        Optional<Courses> existingCourse = courseService.getCourseById(courseId);
+        Optional<Courses> existingCourse = courseService.getCourseForUpdate(courseId);
         int id = courseId;
         Courses courseToUpdate = existingCourse.get();
             courseToUpdate.setName(course.getName());
@@ -327,6 +320,52 @@ public class AdminController {
         return "redirect:/admin/courses"; // Redirect to course list
     }
 
+    // Bulk creates courses and lessons from a CSV or NDJSON file; see CourseImportService for the columns
+    @PostMapping("/admin/import-courses")
+    public String importCourses(@RequestParam("file") MultipartFile file, RedirectAttributes redirectAttributes) {
+        try (InputStream input = file.getInputStream()) {
+            CourseImportResult result = courseImportService.importCourses(input, file.getOriginalFilename());
+            redirectAttributes.addFlashAttribute("importResult", result);
+        } catch (IOException e) {
+            redirectAttributes.addFlashAttribute("importResult", new CourseImportResult(0, 0, "Could not read the file: " + e.getMessage()));
+        }
+        return "redirect:/admin/courses";
+    }
+
+    // Bulk loads the registrar's enrollment export; see BulkIngestionService for the columns
+    @PostMapping("/admin/import-enrollments")
+    public String importEnrollments(@RequestParam("file") MultipartFile file, RedirectAttributes redirectAttributes) {
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            int written = bulkIngestionService.importEnrollments(reader);
+            redirectAttributes.addFlashAttribute("ingestMessage", "Imported " + written + " enrollments.");
+        } catch (IOException e) {
+            redirectAttributes.addFlashAttribute("ingestError", "Could not read the file: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("ingestError", e.getMessage());
+        } catch (DataAccessException e) {
+            // The import is one transaction, so nothing was written
+            redirectAttributes.addFlashAttribute("ingestError", NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+        return "redirect:/admin/student";
+    }
+
+    // Bulk loads the registrar's review export; see BulkIngestionService for the columns
+    @PostMapping("/admin/import-reviews")
+    public String importReviews(@RequestParam("file") MultipartFile file, RedirectAttributes redirectAttributes) {
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            int written = bulkIngestionService.importReviews(reader);
+            redirectAttributes.addFlashAttribute("ingestMessage", "Imported " + written + " reviews.");
+        } catch (IOException e) {
+            redirectAttributes.addFlashAttribute("ingestError", "Could not read the file: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            redirectAttributes.addFlashAttribute("ingestError", e.getMessage());
+        } catch (DataAccessException e) {
+            // The import is one transaction, so nothing was written
+            redirectAttributes.addFlashAttribute("ingestError", NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+        return "redirect:/admin/review";
+    }
+
     @GetMapping("/admin/delete-course/{courseId}")
     public String deleteCourse(@PathVariable("courseId") int courseId) {
         courseService.deleteCourseById(courseId);
@@ -361,26 +400,10 @@ public class AdminController {
 
     @PostMapping("/admin/update-lesson")
     public String updateLesson(@ModelAttribute("lesson") Lessons lesson, int lessonId, @RequestParam("courseId") int courseId) {
-        Optional<Lessons> existingLesson = lessonService.getLessonById(lessonId);
+        // Also moves the course duration by the change in the lesson's
+        Optional<Lessons> existingLesson = lessonService.updateLesson(lessonId, lesson);
 
         if (existingLesson.isPresent()) {
-            Lessons lessonToUpdate = existingLesson.get();
-            
-            lessonToUpdate.setTitle(lesson.getTitle());
-            lessonToUpdate.setDescription(lesson.getDescription());
-            lessonToUpdate.setVideoUrl(lesson.getVideoUrl());
-            lessonToUpdate.setDuration(lesson.getDuration());
-            lessonService.saveLesson(lessonToUpdate);
-
-            // Update the total duration of the course
-            Optional<Courses> courseOptional = courseService.getCourseById(courseId);
-            if (courseOptional.isPresent()) {
-                Courses course = courseOptional.get();  // Get the course object
-                int totalDuration = lessonService.getTotalDurationByCourseId(courseId);  // Calculate total duration of lessons in the course
-                course.setDuration(totalDuration);  // Set the updated duration on the course
-                courseService.saveCourse(course);  // Save the updated course
-            }
-
             return "redirect:/admin/course?course_id=" + courseId;
         } else {
             return "error";
@@ -393,12 +416,7 @@ public class AdminController {
         if (courseOptional.isPresent()) {
             Courses course = courseOptional.get(); 
             lesson.setCourse(course);  
-            lessonService.saveLesson(lesson);
-
-            // Update the total duration of the course
-            int totalDuration = lessonService.getTotalDurationByCourseId(courseId);
-            course.setDuration(totalDuration);  // Update the course duration
-            courseService.saveCourse(course);  // Save the updated course
+            lessonService.saveLesson(lesson);  // Also adds the lesson's duration to the course
         }
         return "redirect:/admin/course?course_id=" + courseId; // Redirect to course list
     }
@@ -410,21 +428,11 @@ public class AdminController {
             Optional<Lessons> lessonOptional = lessonService.getLessonById(lessonId);
             if (lessonOptional.isPresent()) {
                 Lessons lesson = lessonOptional.get();
-                Courses course = lesson.getCourse();
-                int courseId = course.getCourseId();
-                
+                int courseId = lesson.getCourse().getCourseId();
 
-                // Delete the lesson
+                // Delete the lesson and take its duration off the course
                 lessonService.deleteLesson(lessonId);
 
-                // Recalculate the total duration of the course after lesson deletion
-                int totalDuration = lessonService.getTotalDurationByCourseId(courseId);
-                if (totalDuration < 0) {
-                    totalDuration = 0; 
-                }
-                course.setDuration(totalDuration);  // Update course duration
-                courseService.saveCourse(course);  // Save the updated course
-
                 return "redirect:/admin/course?course_id=" + courseId;  // Redirect to the course page
             } else {
                 return "error-page";  // Handle case when the lesson is not found
@@ -436,28 +444,24 @@ public class AdminController {
     }
 
     @GetMapping("/admin/student")
-    public String adminStudent(Model model) {
+    public String adminStudent(@RequestParam(value = "q", required = false) String search,
+                               @RequestParam(value = "after", required = false) Integer after,
+                               @RequestParam(value = "size", defaultValue = "20") int size,
+                               Model model) {
         try {
             Users admin = AuthenticationUtils.getAuthenticatedUser(); 
             if (admin != null) {
                 model.addAttribute("admin", admin);
             }
 
-            List<Users> users = userService.getAllStudents("student");
+            // Enrollments are fetched per student on demand from /admin/student/{userId}/enrollments
+            StudentPage page = studentRosterService.getStudentPage(search, after, size);
 
-            Map<Integer, List<Enrollments>> coursesOfStudent = new HashMap<>();
-            Map<Integer, Integer> totalCoursesOfEachStudent = new HashMap<>();
-    
-            for (Users user : users) {
-                List<Enrollments> enrollments = enrollmentService.getEnrollmentsByUserId(user.getUserId());
-                coursesOfStudent.put(user.getUserId(), enrollments);
-                totalCoursesOfEachStudent.put(user.getUserId(), enrollments.size());
-            }
-    
-            model.addAttribute("users", users);
-            model.addAttribute("coursesOfStudent", coursesOfStudent);
-            model.addAttribute("totalStudents", users.size());
-            model.addAttribute("totalCoursesOfEachStudent", totalCoursesOfEachStudent);
+            model.addAttribute("students", page.getStudents());
+            model.addAttribute("totalStudents", studentRosterService.countStudents(search));
+            model.addAttribute("q", search);
+            model.addAttribute("size", size);
+            model.addAttribute("nextCursor", page.getNextCursor());
             model.addAttribute("pageUrl", "/admin/student");
     
             return "admin-student"; 
@@ -468,58 +472,28 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/admin/student/{userId}/enrollments")
+    @ResponseBody
+    public List<EnrollmentSummary> adminStudentEnrollments(@PathVariable("userId") int userId) {
+        return studentRosterService.getEnrollments(userId);
+    }
+
     @GetMapping("/admin/instructor")
-    public String adminInstructor(Model model) {
+    public String adminInstructor(@RequestParam(value = "after", required = false) Integer after,
+                                  @RequestParam(value = "size", defaultValue = "20") int size,
+                                  Model model) {
         try {
             Users admin = AuthenticationUtils.getAuthenticatedUser(); 
             if (admin != null) {
                 model.addAttribute("admin", admin);
             }
 
-            List<Users> users = userService.getAllStudents("instructor");
-
-            Map<Integer, Integer> totalCoursesOfEachInstructor = new HashMap<>();
-            Map<Integer, Integer> totalStudentsOfEachInstructor = new HashMap<>();
-            Map<Integer, Integer> totalReviewsOfEachInstructor = new HashMap<>();
-            Map<Integer, Double> totalRatingsOfEachInstructor = new HashMap<>();
-            Map<Integer, String> spec = new HashMap<>();
-
-            for (Users user : users) {
-                List<Courses> courseOfInstructor = courseService.getCourseByInstructor(user.getUserId());
-                totalCoursesOfEachInstructor.put(user.getUserId(), courseOfInstructor.size());
+            InstructorPage page = instructorAnalyticsService.getInstructorPage(after, size);
 
-                int totalStudentsEnroll = 0;
-                int totalReviews = 0;
-                int totalRatings = 0;
-
-                for (Courses course : courseOfInstructor) {
-                    List<Enrollments> enrolls = enrollmentService.getEnrollmentsByCourseId(course.getCourseId());
-                    List<Reviews> reviewsCourse = reviewService.getReviewsByCourseId(course.getCourseId());
-
-                    totalStudentsEnroll += enrolls.size();
-                    totalReviews += reviewsCourse.size();
-
-                    for (Reviews review : reviewsCourse) {
-                        totalRatings += review.getRating();
-                    }
-                }
-                totalStudentsOfEachInstructor.put(user.getUserId(), totalStudentsEnroll);
-                totalReviewsOfEachInstructor.put(user.getUserId(), totalReviews);
-
-                double averageRating = totalReviews > 0 ? (double) totalRatings / totalReviews : 0;
-                totalRatingsOfEachInstructor.put(user.getUserId(), Math.round(averageRating * 10.0) / 10.0);
-
-                Specializations special = specializationService.getSpecialization(user.getUserId());
-                spec.put(user.getUserId(), special.getSpecializationName());
-            }
-    
-    
-            model.addAttribute("users", users);
-            model.addAttribute("totalInstructors", users.size());
-            model.addAttribute("totalCoursesOfEachInstructor", totalCoursesOfEachInstructor);
-            model.addAttribute("totalStudentsOfEachInstructor", totalStudentsOfEachInstructor);
-            model.addAttribute("totalRatingsOfEachInstructor", totalRatingsOfEachInstructor);
-            model.addAttribute("specialization", spec);
+            model.addAttribute("instructors", page.getInstructors());
+            model.addAttribute("totalInstructors", instructorAnalyticsService.countInstructors());
+            model.addAttribute("size", size);
+            model.addAttribute("nextCursor", page.getNextCursor());
             model.addAttribute("pageUrl", "/admin/instructor");
     
             return "admin-instructor"; 
@@ -560,21 +534,19 @@ public class AdminController {
 
         // Map to hold ratings for each course
         Map<Integer, Double> courseRatings = new HashMap<>();
+        Map<Integer, CourseRatingStats> ratingStats = reviewService.getRatingStats(
+            coursesReview.stream().map(Courses::getCourseId).collect(Collectors.toList()));
 
         // Loop through each course and calculate average rating
         for (Courses course : coursesReview) {
-            double averageRating = reviewService.calculateAverageRating(course.getCourseId());
+            double averageRating = ratingStats.get(course.getCourseId()).getAverageRating();
             courseRatings.put(course.getCourseId(), averageRating);
             // Optionally, set average rating on the course object (not stored in DB)
             course.setAverageRating(averageRating); 
         }
 
-        Map<Integer, Integer> totalStudentsPerCourse = new HashMap<>();
-
-        for (Courses course : coursesReview) {
-            List<Enrollments> enrollments = enrollmentService.getEnrollmentsByCourseId(course.getCourseId());
-            totalStudentsPerCourse.put(course.getCourseId(), enrollments.size());
-        }
+        Map<Integer, Integer> totalStudentsPerCourse = enrollmentService.getEnrollmentCounts(
+            coursesReview.stream().map(Courses::getCourseId).collect(Collectors.toList()));
 
         int highReview = 0;
         int lowReview = 0;
@@ -603,4 +575,11 @@ public class AdminController {
         model.addAttribute("pageUrl", "/admin/review");
         return "admin-review";
     }
+
+    // Repairs the course rating summaries should they ever drift from the reviews
+    @PostMapping("/admin/review/rebuild-stats")
+    public String rebuildRatingStats() {
+        reviewService.rebuildRatingStats();
+        return "redirect:/admin/review";
+    }
 }
@@ -3,6 +3,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import com.example.course_management_system.models.CustomUserDetails;
+import com.example.course_management_system.models.TokenPrincipal;
 import com.example.course_management_system.models.Users;
 
 public class AuthenticationUtils {
@@ -13,11 +14,19 @@ public class AuthenticationUtils {
             CustomUserDetails customUserDetails = (CustomUserDetails) authentication.getPrincipal();
             return customUserDetails.getUser();
         }
+        if (authentication != null && authentication.getPrincipal() instanceof TokenPrincipal) {
+            return ((TokenPrincipal) authentication.getPrincipal()).getUser();
+        }
         return null;
     }
 
     public static String getAuthenticatedUsername() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // A token principal is named by its user id
+        if (authentication != null && authentication.getPrincipal() instanceof TokenPrincipal) {
+            Users user = getAuthenticatedUser();
+            return user != null ? user.getUsername() : null;
+        }
         return (authentication != null) ? authentication.getName() : null;  
     }
 }
@@ -1,10 +1,12 @@
 package com.example.course_management_system.controllers;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,49 +16,81 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
-
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import com.example.course_management_system.models.CoEnrolledCourse;
+import com.example.course_management_system.models.CourseFilter;
+import com.example.course_management_system.models.CoursePage;
+import com.example.course_management_system.models.CourseRatingStats;
+import com.example.course_management_system.models.CourseSearchResult;
+import com.example.course_management_system.models.CourseSort;
+import com.example.course_management_system.models.CourseSuggestion;
 import com.example.course_management_system.models.Courses;
-import com.example.course_management_system.models.Enrollments;
 import com.example.course_management_system.models.Lessons;
-import com.example.course_management_system.models.Reviews;
+import com.example.course_management_system.models.RelatedCourses;
+import com.example.course_management_system.models.ReviewPage;
 import com.example.course_management_system.services.AuthService;
+import com.example.course_management_system.services.CoEnrollmentGraph;
+import com.example.course_management_system.services.CourseSearchService;
 import com.example.course_management_system.services.CourseService;
 import com.example.course_management_system.services.EnrollmentService;
 import com.example.course_management_system.services.LessonService;
+import com.example.course_management_system.services.PageDataLoader;
+import com.example.course_management_system.services.RelatedCourseService;
 import com.example.course_management_system.services.ReviewService;
 
 @Controller
 public class CourseController {
 
+    private static final int REVIEWS_PER_PAGE = 10;
+
     @Autowired
     private CourseService courseService;
     private ReviewService reviewService;
     private EnrollmentService enrollmentService;
     private LessonService lessonService;
     private AuthService authService;
+    private CourseSearchService courseSearchService;
+    private RelatedCourseService relatedCourseService;
+    private CoEnrollmentGraph coEnrollmentGraph;
+    private PageDataLoader pageDataLoader;
 
-    public CourseController(AuthService authService, CourseService courseService, ReviewService reviewService,EnrollmentService enrollmentService, LessonService lessonService) {
+    public CourseController(AuthService authService, CourseService courseService, ReviewService reviewService,EnrollmentService enrollmentService, LessonService lessonService, CourseSearchService courseSearchService, RelatedCourseService relatedCourseService, CoEnrollmentGraph coEnrollmentGraph, PageDataLoader pageDataLoader) {
         this.courseService = courseService;
         this.reviewService = reviewService;
         this.enrollmentService = enrollmentService;
         this.lessonService = lessonService;
         this.authService = authService;
+        this.courseSearchService = courseSearchService;
+        this.relatedCourseService = relatedCourseService;
+        this.coEnrollmentGraph = coEnrollmentGraph;
+        this.pageDataLoader = pageDataLoader;
     }
 
     @GetMapping("/courses")
-    public String showAllCourses(Model model) {
+    public String showAllCourses(@RequestParam(value = "category", required = false) Integer categoryId,
+                                 @RequestParam(value = "level", required = false) String skillLevel,
+                                 @RequestParam(value = "status", required = false) String status,
+                                 @RequestParam(value = "sort", required = false) String sort,
+                                 @RequestParam(value = "size", defaultValue = "12") int size,
+                                 @RequestParam(value = "after", required = false) String after,
+                                 Model model) {
         boolean isAuthenticated = authService.isAuthenticated();
         model.addAttribute("isAuthenticated", isAuthenticated);
 
-        List<Courses> courses = courseService.getAllCourses();
+        CourseSort courseSort = CourseSort.from(sort);
+        CoursePage page = courseService.getCoursePage(new CourseFilter(categoryId, skillLevel, status), courseSort, after, size);
+        List<Courses> courses = page.getCourses();
+        Map<Integer, CourseRatingStats> ratingStats = reviewService.getRatingStats(
+            courses.stream().map(Courses::getCourseId).collect(Collectors.toList()));
         Map<Integer, Double> courseRatings = new HashMap<>();
         Map<Integer, Integer> courseReviewCounts = new HashMap<>();
 
         for (Courses course : courses) {
-            double averageRating = reviewService.calculateAverageRating(course.getCourseId());
+            double averageRating = ratingStats.get(course.getCourseId()).getAverageRating();
             courseRatings.put(course.getCourseId(), averageRating);
 
-            int reviewCount = reviewService.getReviewCount(course.getCourseId()); 
+            int reviewCount = (int) ratingStats.get(course.getCourseId()).getReviewCount(); 
             courseReviewCounts.put(course.getCourseId(), reviewCount);
 
             course.setReviewCount(reviewCount);
@@ -65,91 +99,107 @@ public class CourseController {
         model.addAttribute("courses", courses);
         model.addAttribute("courseRatings", courseRatings);
         model.addAttribute("courseReviewCounts", courseReviewCounts); 
+        model.addAttribute("category", categoryId);
+        model.addAttribute("level", skillLevel);
+        model.addAttribute("status", status);
+        model.addAttribute("sort", courseSort.getParam());
+        model.addAttribute("size", size);
+        model.addAttribute("nextCursor", page.getNextCursor());
         return "course";
     }
 
-    @GetMapping("/course")
-    public String courseDetail(@RequestParam("course_id") int courseId, Model model) {
+    @GetMapping("/courses/search")
+    public String searchCourses(@RequestParam(value = "q", defaultValue = "") String query,
+                                @RequestParam(value = "page", defaultValue = "0") int page,
+                                @RequestParam(value = "size", defaultValue = "12") int size,
+                                Model model) {
         boolean isAuthenticated = authService.isAuthenticated();
         model.addAttribute("isAuthenticated", isAuthenticated);
 
-        Optional<Courses> course = courseService.getCourseById(courseId);
-        List<Courses> coursesCategory = courseService.getAllCourseByCategory(course.get().getCategory());
-
-        int excludedCourseId = course.get().getCourseId();
-
-        List<Courses> filteredCourses = coursesCategory.stream()
-            .filter(relatedCourse -> relatedCourse.getCourseId() != excludedCourseId)
-            .collect(Collectors.toList());
-
-        Collections.shuffle(filteredCourses);
-
-        List<Courses> randomCourses = filteredCourses.stream().limit(4).collect(Collectors.toList());
-
+        CourseSearchResult result = courseSearchService.search(query, page, size);
+        List<Courses> courses = result.getCourses();
+        Map<Integer, CourseRatingStats> ratingStats = reviewService.getRatingStats(
+            courses.stream().map(Courses::getCourseId).collect(Collectors.toList()));
         Map<Integer, Double> courseRatings = new HashMap<>();
         Map<Integer, Integer> courseReviewCounts = new HashMap<>();
 
-        for (Courses randomCourse : randomCourses) {
-            double averageRating = reviewService.calculateAverageRating(randomCourse.getCourseId());
-            courseRatings.put(randomCourse.getCourseId(), averageRating);
+        // The courses belong to the search index and are shared between requests, so they are not modified here
+        for (Courses course : courses) {
+            courseRatings.put(course.getCourseId(), ratingStats.get(course.getCourseId()).getAverageRating());
+            courseReviewCounts.put(course.getCourseId(), (int) ratingStats.get(course.getCourseId()).getReviewCount());
+        }
+        model.addAttribute("courses", courses);
+        model.addAttribute("courseRatings", courseRatings);
+        model.addAttribute("courseReviewCounts", courseReviewCounts);
+        model.addAttribute("q", query);
+        model.addAttribute("search", result);
+        model.addAttribute("size", size);
+        return "course";
+    }
+
+    @GetMapping("/courses/autocomplete")
+    @ResponseBody
+    public List<CourseSuggestion> autocompleteCourses(@RequestParam(value = "q", defaultValue = "") String query,
+                                                      @RequestParam(value = "limit", defaultValue = "8") int limit) {
+        return courseSearchService.suggest(query, limit);
+    }
 
-            int reviewCount = reviewService.getReviewCount(randomCourse.getCourseId()); 
-            courseReviewCounts.put(randomCourse.getCourseId(), reviewCount);
+    @GetMapping("/course")
+    public String courseDetail(@RequestParam("course_id") int courseId,
+                               @RequestParam(value = "reviews_after", required = false) String reviewsAfter,
+                               Model model) {
+        boolean isAuthenticated = authService.isAuthenticated();
+        model.addAttribute("isAuthenticated", isAuthenticated);
 
-            randomCourse.setReviewCount(reviewCount);
-            randomCourse.setAverageRating(averageRating); 
+        // Related courses and the co-enrollment graph are in memory; everything else is queried at the same time
+        RelatedCourses relatedCourses = relatedCourseService.getRelatedCourses(courseId);
+        Map<Integer, Integer> alsoTookStudents = new LinkedHashMap<>();
+        for (CoEnrolledCourse coEnrolled : coEnrollmentGraph.alsoTook(courseId, RelatedCourseService.RECOMMENDATIONS)) {
+            alsoTookStudents.put(coEnrolled.getCourseId(), coEnrolled.getStudents());
         }
 
-        List<Reviews> reviewsOfCourse = reviewService.getReviewsByCourseId(courseId);
-        double averageRating = reviewService.calculateAverageRating(courseId);
-        int totalReviews = reviewsOfCourse.size();
-
-        int oneStarCount = 0;
-        int twoStarCount = 0;
-        int threeStarCount = 0;
-        int fourStarCount = 0;
-        int fiveStarCount = 0;
-
-        for (Reviews review : reviewsOfCourse) {
-            int rating = review.getRating(); 
-            switch (rating) {
-                case 1:
-                    oneStarCount++;
-                    break;
-                case 2:
-                    twoStarCount++;
-                    break;
-                case 3:
-                    threeStarCount++;
-                    break;
-                case 4:
-                    fourStarCount++;
-                    break;
-                case 5:
-                    fiveStarCount++;
-                    break;
-                default:
-                    break;
-            }
+        Optional<Courses> course;
+        List<Courses> alsoTookCourses;
+        ReviewPage reviewPage;
+        CourseRatingStats courseRatingStats;
+        int totalStudentsPerCourse;
+        List<Lessons> lessons;
+        try (PageDataLoader.PageLoad load = pageDataLoader.begin()) {
+            Supplier<Optional<Courses>> courseLoad = load.fork(() -> courseService.getCourseById(courseId));
+            Supplier<List<Courses>> alsoTookLoad = load.fork(() -> courseService.getCoursesInOrder(new ArrayList<>(alsoTookStudents.keySet())));
+            Supplier<ReviewPage> reviewLoad = load.fork(() -> reviewService.getReviewPage(courseId, reviewsAfter, REVIEWS_PER_PAGE));
+            Supplier<CourseRatingStats> ratingLoad = load.fork(() -> reviewService.getRatingStats(courseId));
+            Supplier<Integer> studentLoad = load.fork(() -> enrollmentService.getEnrollmentCounts(List.of(courseId)).get(courseId));
+            Supplier<List<Lessons>> lessonLoad = load.fork(() -> lessonService.getAllLessonsOfCourse(courseId));
+            load.join();
+
+            course = courseLoad.get();
+            alsoTookCourses = alsoTookLoad.get();
+            reviewPage = reviewLoad.get();
+            courseRatingStats = ratingLoad.get();
+            totalStudentsPerCourse = studentLoad.get();
+            lessons = lessonLoad.get();
         }
-    
-        int oneStar = totalReviews > 0 ? (int) Math.round((double) oneStarCount / totalReviews * 100) : 0;
-        int twoStar = totalReviews > 0 ? (int) Math.round((double) twoStarCount / totalReviews * 100) : 0;
-        int threeStar = totalReviews > 0 ? (int) Math.round((double) threeStarCount / totalReviews * 100) : 0;
-        int fourStar = totalReviews > 0 ? (int) Math.round((double) fourStarCount / totalReviews * 100) : 0;
-        int fiveStar = totalReviews > 0 ? (int) Math.round((double) fiveStarCount / totalReviews * 100) : 0;
 
-        List<Enrollments> enrollments = enrollmentService.getEnrollmentsByCourseId(courseId);
-        int totalStudentsPerCourse = enrollments.size();
+        double averageRating = courseRatingStats.getAverageRating();
+        int totalReviews = (int) courseRatingStats.getReviewCount();
+
+        int oneStar = courseRatingStats.getStarPercent(1);
+        int twoStar = courseRatingStats.getStarPercent(2);
+        int threeStar = courseRatingStats.getStarPercent(3);
+        int fourStar = courseRatingStats.getStarPercent(4);
+        int fiveStar = courseRatingStats.getStarPercent(5);
 
-        List<Lessons> lessons = lessonService.getAllLessonsOfCourse(courseId);
         int totalLessons = lessons.size();
 
         model.addAttribute("course", course.get());
-        model.addAttribute("randomCourses", randomCourses);
-        model.addAttribute("courseRatings", courseRatings);
-        model.addAttribute("courseReviewCounts", courseReviewCounts); 
-        model.addAttribute("reviewsOfCourse", reviewsOfCourse);
+        model.addAttribute("randomCourses", relatedCourses.getCourses());
+        model.addAttribute("courseRatings", relatedCourses.getCourseRatings());
+        model.addAttribute("courseReviewCounts", relatedCourses.getCourseReviewCounts());
+        model.addAttribute("alsoTookCourses", alsoTookCourses);
+        model.addAttribute("alsoTookStudents", alsoTookStudents);
+        model.addAttribute("reviewsOfCourse", reviewPage.getReviews());
+        model.addAttribute("reviewsNextCursor", reviewPage.getNextCursor());
         model.addAttribute("averageRating", averageRating);
         model.addAttribute("totalReviews", totalReviews);
         model.addAttribute("oneStar", oneStar);
@@ -1,9 +1,5 @@
 package com.example.course_management_system.controllers;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,16 +10,13 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import com.example.course_management_system.models.Courses;
-import com.example.course_management_system.models.Enrollments;
+import com.example.course_management_system.models.StudentDashboard;
 import com.example.course_management_system.models.Users;
 import com.example.course_management_system.services.AuthService;
-import com.example.course_management_system.services.EnrollmentService;
-import com.example.course_management_system.services.ReviewService;
+import com.example.course_management_system.services.StudentDashboardService;
 import com.example.course_management_system.services.UserService;
 
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
 
 
 @Controller
@@ -32,14 +25,12 @@ public class UserController {
     @Autowired
     private AuthService authService;
     private UserService userService;
-    private EnrollmentService enrollmentService;
-    private ReviewService reviewService;
+    private StudentDashboardService studentDashboardService;
 
-    public UserController(AuthService authService, UserService userService, EnrollmentService enrollmentService, ReviewService reviewService) {
+    public UserController(AuthService authService, UserService userService, StudentDashboardService studentDashboardService) {
         this.userService = userService;
         this.authService = authService;
-        this.enrollmentService = enrollmentService;
-        this.reviewService = reviewService;
+        this.studentDashboardService = studentDashboardService;
     }
 
     @GetMapping("/student")
@@ -54,75 +45,14 @@ public class UserController {
         boolean isAuthenticated = authService.isAuthenticated();
         model.addAttribute("isAuthenticated", isAuthenticated);
 
-        List<Enrollments> learningCourses = enrollmentService.getEnrollmentsByUserIdWithStatus(userId, "learning");
-        List<Courses> learnings = new ArrayList<>();
-        for (Enrollments enrollment : learningCourses) {
-            learnings.add(enrollment.getCourse());
-        }
-
-        Map<Integer, Double> learningRatings = new HashMap<>();
-        Map<Integer, Integer> learningReviews = new HashMap<>();
-
-        for (Courses learning : learnings) {
-            double averageRating = reviewService.calculateAverageRating(learning.getCourseId());
-            learningRatings.put(learning.getCourseId(), averageRating);
-
-            int reviewCount = reviewService.getReviewCount(learning.getCourseId());
-            learningReviews.put(learning.getCourseId(), reviewCount);
-
-            learning.setReviewCount(reviewCount);
-            learning.setAverageRating(averageRating);
-        }
-
-        List<Enrollments> completedCourses = enrollmentService.getEnrollmentsByUserIdWithStatus(userId, "completed");
-        List<Courses> completeds = new ArrayList<>();
-        for (Enrollments enrollment : completedCourses) {
-            completeds.add(enrollment.getCourse());
-        }
-        
-        Map<Integer, Double> completedRatings = new HashMap<>();
-        Map<Integer, Integer> completedReviews = new HashMap<>();
-
-        for (Courses completed : completeds) {
-            double averageRating = reviewService.calculateAverageRating(completed.getCourseId());
-            completedRatings.put(completed.getCourseId(), averageRating);
-
-            int reviewCount = reviewService.getReviewCount(completed.getCourseId());
-            completedReviews.put(completed.getCourseId(), reviewCount);
-
-            completed.setReviewCount(reviewCount);
-            completed.setAverageRating(averageRating);
-        }
-
-        List<Enrollments> droppedCourses = enrollmentService.getEnrollmentsByUserIdWithStatus(userId, "dropped");
-        List<Courses> droppeds = new ArrayList<>();
-        for (Enrollments enrollment : droppedCourses) {
-            droppeds.add(enrollment.getCourse());
-        }
-        
-        Map<Integer, Double> droppedRatings = new HashMap<>();
-        Map<Integer, Integer> droppedReviews = new HashMap<>();
-
-        for (Courses dropped : droppeds) {
-            double averageRating = reviewService.calculateAverageRating(dropped.getCourseId());
-            droppedRatings.put(dropped.getCourseId(), averageRating);
-
-            int reviewCount = reviewService.getReviewCount(dropped.getCourseId());
-            droppedReviews.put(dropped.getCourseId(), reviewCount);
-
-            dropped.setReviewCount(reviewCount);
-            dropped.setAverageRating(averageRating);
-        }
-
-        model.addAttribute("learnings", learnings);
-        model.addAttribute("learningRatings", learningRatings);
-        model.addAttribute("learningReviews", learningReviews);
-        model.addAttribute("completeds", completeds);
-        model.addAttribute("completedRatings", completedRatings);
-        model.addAttribute("completedReviews", completedReviews);
-        model.addAttribute("droppeds", droppeds);
-        model.addAttribute("droppedRatings", droppedRatings);
-        model.addAttribute("droppedReviews", droppedReviews);
+        StudentDashboard dashboard = studentDashboardService.getDashboard(userId);
+        model.addAttribute("learnings", dashboard.getLearnings());
+        model.addAttribute("completeds", dashboard.getCompleteds());
+        model.addAttribute("droppeds", dashboard.getDroppeds());
+        model.addAttribute("courseRatings", dashboard.getCourseRatings());
+        model.addAttribute("courseReviewCounts", dashboard.getCourseReviewCounts());
+        model.addAttribute("recommendedCourses", dashboard.getRecommendedCourses());
+        model.addAttribute("recommendedStudents", dashboard.getRecommendedStudents());
 
         return "student";
     }
@@ -141,7 +71,7 @@ public class UserController {
     }
 
     @PostMapping("/student/update-profile")
-    public String updateStudentProfile(@ModelAttribute("user") Users user, @RequestParam("userId") int userId, HttpSession session) {
+    public String updateStudentProfile(@ModelAttribute("user") Users user, @RequestParam("userId") int userId) {
         Optional<Users> existingUser = userService.findUserById(userId);
         if (existingUser.isPresent()) {
             Users userToUpdate = existingUser.get();
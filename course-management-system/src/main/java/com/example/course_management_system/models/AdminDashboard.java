@@ -0,0 +1,93 @@
+package com.example.course_management_system.models;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the admin dashboard renders, assembled by
+ * {@code AdminDashboardService} from grouped count queries.
+ */
+public class AdminDashboard {
+
+    private final long totalCourses;
+    private final long totalStudents;
+    private final long totalInstructors;
+    private final long totalReviews;
+
+    private final List<Courses> latestCourses;
+    private final List<Users> topInstructors;
+    private final List<Users> topStudents;
+
+    private final Map<Integer, Integer> totalCoursesOfEachInstructor;
+    private final Map<Integer, Integer> totalStudentsOfEachInstructor;
+    private final Map<Integer, Integer> totalReviewsOfEachInstructor;
+    private final Map<Integer, Integer> totalCoursesOfEachStudent;
+    private final Map<Integer, Integer> completedCoursesOfEachStudent;
+
+    public AdminDashboard(long totalCourses, long totalStudents, long totalInstructors, long totalReviews,
+            List<Courses> latestCourses, List<Users> topInstructors, List<Users> topStudents,
+            Map<Integer, Integer> totalCoursesOfEachInstructor, Map<Integer, Integer> totalStudentsOfEachInstructor,
+            Map<Integer, Integer> totalReviewsOfEachInstructor, Map<Integer, Integer> totalCoursesOfEachStudent,
+            Map<Integer, Integer> completedCoursesOfEachStudent) {
+        this.totalCourses = totalCourses;
+        this.totalStudents = totalStudents;
+        this.totalInstructors = totalInstructors;
+        this.totalReviews = totalReviews;
+        this.latestCourses = latestCourses;
+        this.topInstructors = topInstructors;
+        this.topStudents = topStudents;
+        this.totalCoursesOfEachInstructor = totalCoursesOfEachInstructor;
+        this.totalStudentsOfEachInstructor = totalStudentsOfEachInstructor;
+        this.totalReviewsOfEachInstructor = totalReviewsOfEachInstructor;
+        this.totalCoursesOfEachStudent = totalCoursesOfEachStudent;
+        this.completedCoursesOfEachStudent = completedCoursesOfEachStudent;
+    }
+
+    public long getTotalCourses() {
+        return totalCourses;
+    }
+
+    public long getTotalStudents() {
+        return totalStudents;
+    }
+
+    public long getTotalInstructors() {
+        return totalInstructors;
+    }
+
+    public long getTotalReviews() {
+        return totalReviews;
+    }
+
+    public List<Courses> getLatestCourses() {
+        return latestCourses;
+    }
+
+    public List<Users> getTopInstructors() {
+        return topInstructors;
+    }
+
+    public List<Users> getTopStudents() {
+        return topStudents;
+    }
+
+    public Map<Integer, Integer> getTotalCoursesOfEachInstructor() {
+        return totalCoursesOfEachInstructor;
+    }
+
+    public Map<Integer, Integer> getTotalStudentsOfEachInstructor() {
+        return totalStudentsOfEachInstructor;
+    }
+
+    public Map<Integer, Integer> getTotalReviewsOfEachInstructor() {
+        return totalReviewsOfEachInstructor;
+    }
+
+    public Map<Integer, Integer> getTotalCoursesOfEachStudent() {
+        return totalCoursesOfEachStudent;
+    }
+
+    public Map<Integer, Integer> getCompletedCoursesOfEachStudent() {
+        return completedCoursesOfEachStudent;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.course_management_system.models;
+
+/**
+ * A course recommended from co-enrollments, with the number of students it
+ * shares with the course (or the student's courses) it was found for.
+ */
+public class CoEnrolledCourse {
+
+    private final int courseId;
+    private final int students;
+
+    public CoEnrolledCourse(int courseId, int students) {
+        this.courseId = courseId;
+        this.students = students;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public int getStudents() {
+        return students;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.course_management_system.models;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last course of a catalog page: its id plus the value of
+ * the sort column. Travels in the URL as an opaque token.
+ */
+public class CourseCursor {
+
+    private final CourseSort sort;
+    private final int courseId;
+    private final LocalDateTime createdAt;
+    private final double rating;
+
+    public CourseCursor(CourseSort sort, int courseId, LocalDateTime createdAt, double rating) {
+        this.sort = sort;
+        this.courseId = courseId;
+        this.createdAt = createdAt;
+        this.rating = rating;
+    }
+
+    public CourseSort getSort() {
+        return sort;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    public String encode() {
+        String key;
+        switch (sort) {
+            case NEWEST:
+                key = createdAt == null ? "" : createdAt.toString();
+                break;
+            case RATING:
+                key = Double.toString(rating);
+                break;
+            default:
+                key = "";
+                break;
+        }
+        String raw = sort.name() + "|" + courseId + "|" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a token produced by {@link #encode()}. Returns {@code null} for a
+     * missing or malformed token, or one issued for a different ordering, so
+     * that the caller simply starts from the first page.
+     */
+    public static CourseCursor decode(String token, CourseSort sort) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || CourseSort.valueOf(parts[0]) != sort) {
+                return null;
+            }
+            int courseId = Integer.parseInt(parts[1]);
+            LocalDateTime createdAt = sort == CourseSort.NEWEST && !parts[2].isEmpty() ? LocalDateTime.parse(parts[2]) : null;
+            double rating = sort == CourseSort.RATING ? Double.parseDouble(parts[2]) : 0.0;
+            return new CourseCursor(sort, courseId, createdAt, rating);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
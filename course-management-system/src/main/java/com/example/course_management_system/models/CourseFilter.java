@@ -0,0 +1,35 @@
+package com.example.course_management_system.models;
+
+/**
+ * Optional filters of the course catalog; a {@code null} field means "any".
+ */
+public class CourseFilter {
+
+    private Integer categoryId;
+    private String skillLevel;
+    private String status;
+
+    public CourseFilter() {}
+
+    public CourseFilter(Integer categoryId, String skillLevel, String status) {
+        this.categoryId = categoryId;
+        this.skillLevel = blankToNull(skillLevel);
+        this.status = blankToNull(status);
+    }
+
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+
+    public String getSkillLevel() {
+        return skillLevel;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
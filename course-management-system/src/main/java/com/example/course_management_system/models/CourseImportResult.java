@@ -0,0 +1,34 @@
+package com.example.course_management_system.models;
+
+/**
+ * Outcome of a course/lesson import. When the import stopped at a bad row,
+ * the counts cover the chunks committed before it and {@code error} says why.
+ */
+public class CourseImportResult {
+
+    private int courses;
+    private int lessons;
+    private String error;
+
+    public CourseImportResult(int courses, int lessons, String error) {
+        this.courses = courses;
+        this.lessons = lessons;
+        this.error = error;
+    }
+
+    public int getCourses() {
+        return courses;
+    }
+
+    public int getLessons() {
+        return lessons;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.course_management_system.models;
+
+import java.util.List;
+
+/**
+ * One page of the course catalog and the token to request the next one.
+ */
+public class CoursePage {
+
+    private final List<Courses> courses;
+    private final String nextCursor;
+
+    public CoursePage(List<Courses> courses, String nextCursor) {
+        this.courses = courses;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Courses> getCourses() {
+        return courses;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.course_management_system.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Materialized rating summary of one course. Kept in step with the Reviews
+ * table by {@code ReviewService} so that averages, counts and star
+ * percentages never need a scan of the reviews themselves.
+ */
+@Entity
+@Table(name = "CourseRatingStats")
+public class CourseRatingStats {
+
+    @Id
+    @Column(name = "course_id")
+    private int courseId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    // Unrounded average, stored so course listings can sort and seek on it
+    @Column(name = "average_rating", nullable = false)
+    private double averageRating;
+
+    @Column(name = "one_star", nullable = false)
+    private long oneStar;
+
+    @Column(name = "two_star", nullable = false)
+    private long twoStar;
+
+    @Column(name = "three_star", nullable = false)
+    private long threeStar;
+
+    @Column(name = "four_star", nullable = false)
+    private long fourStar;
+
+    @Column(name = "five_star", nullable = false)
+    private long fiveStar;
+
+    public CourseRatingStats() {}
+
+    public CourseRatingStats(int courseId) {
+        this.courseId = courseId;
+    }
+
+    public CourseRatingStats(int courseId, long oneStar, long twoStar, long threeStar, long fourStar, long fiveStar) {
+        this.courseId = courseId;
+        this.oneStar = oneStar;
+        this.twoStar = twoStar;
+        this.threeStar = threeStar;
+        this.fourStar = fourStar;
+        this.fiveStar = fiveStar;
+        this.reviewCount = oneStar + twoStar + threeStar + fourStar + fiveStar;
+        this.ratingSum = oneStar + 2 * twoStar + 3 * threeStar + 4 * fourStar + 5 * fiveStar;
+        this.averageRating = reviewCount > 0 ? (double) ratingSum / reviewCount : 0.0;
+    }
+
+    /**
+     * Adds ({@code delta = 1}) or removes ({@code delta = -1}) one review with
+     * the given rating.
+     */
+    public void apply(int rating, int delta) {
+        switch (rating) {
+            case 1:
+                oneStar += delta;
+                break;
+            case 2:
+                twoStar += delta;
+                break;
+            case 3:
+                threeStar += delta;
+                break;
+            case 4:
+                fourStar += delta;
+                break;
+            case 5:
+                fiveStar += delta;
+                break;
+            default:
+                throw new IllegalArgumentException("Rating must between 1 and 5!");
+        }
+        reviewCount += delta;
+        ratingSum += (long) rating * delta;
+        averageRating = reviewCount > 0 ? (double) ratingSum / reviewCount : 0.0;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public long getStarCount(int star) {
+        switch (star) {
+            case 1:
+                return oneStar;
+            case 2:
+                return twoStar;
+            case 3:
+                return threeStar;
+            case 4:
+                return fourStar;
+            case 5:
+                return fiveStar;
+            default:
+                throw new IllegalArgumentException("Rating must between 1 and 5!");
+        }
+    }
+
+    // Rounded to one decimal, like the ratings shown everywhere else
+    public double getAverageRating() {
+        return Math.round(averageRating * 10.0) / 10.0;
+    }
+
+    public int getStarPercent(int star) {
+        if (reviewCount == 0) {
+            return 0;
+        }
+        return (int) Math.round((double) getStarCount(star) / reviewCount * 100);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.course_management_system.models;
+
+import java.util.List;
+
+/**
+ * One page of ranked course search hits and the total number of hits.
+ */
+public class CourseSearchResult {
+
+    private final List<Courses> courses;
+    private final int total;
+    private final int page;
+    private final int size;
+
+    public CourseSearchResult(List<Courses> courses, int total, int page, int size) {
+        this.courses = courses;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+    }
+
+    public List<Courses> getCourses() {
+        return courses;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getTotalPages() {
+        return (total + size - 1) / size;
+    }
+
+    public boolean hasNext() {
+        return page + 1 < getTotalPages();
+    }
+}
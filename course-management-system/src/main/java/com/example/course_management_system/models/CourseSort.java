@@ -0,0 +1,26 @@
+package com.example.course_management_system.models;
+
+/**
+ * Orderings offered by the paged course catalog. Every ordering ends on
+ * {@code course_id} so that it is total and can be used as a keyset.
+ */
+public enum CourseSort {
+    ID,
+    NEWEST,
+    RATING;
+
+    public static CourseSort from(String value) {
+        if (value != null) {
+            for (CourseSort sort : values()) {
+                if (sort.name().equalsIgnoreCase(value)) {
+                    return sort;
+                }
+            }
+        }
+        return ID;
+    }
+
+    public String getParam() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.course_management_system.models;
+
+/**
+ * An autocomplete entry for the course search box.
+ */
+public class CourseSuggestion {
+
+    private final int courseId;
+    private final String name;
+
+    public CourseSuggestion(int courseId, String name) {
+        this.courseId = courseId;
+        this.name = name;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
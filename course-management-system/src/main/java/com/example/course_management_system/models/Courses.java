@@ -5,6 +5,7 @@ import java.time.format.DateTimeFormatter;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -28,11 +29,11 @@ public class Courses {
     @Column(name = "description")
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
         @JoinColumn(name = "category_id")
         private Categories category;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
         @JoinColumn(name = "instructor_id")
         private Users user;
 
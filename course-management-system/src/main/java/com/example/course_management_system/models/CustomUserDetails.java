@@ -7,16 +7,24 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 public class CustomUserDetails implements UserDetails{
 
-    private Users user;
+    private volatile Users user;
 
     private Collection<? extends GrantedAuthority> authorities;
 
+    // Users.version of the row held in user
+    private volatile long version;
+
     public CustomUserDetails() {}
 
     public CustomUserDetails(Users user, Collection<? extends GrantedAuthority> authorities) {
+        this(user, authorities, 0);
+    }
+
+    public CustomUserDetails(Users user, Collection<? extends GrantedAuthority> authorities, long version) {
         super();
         this.user = user;
         this.authorities = authorities;
+        this.version = version;
     }
 
     @Override
@@ -41,5 +49,15 @@ public class CustomUserDetails implements UserDetails{
     public Users getUser() {
         return user;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // Swaps in a freshly loaded row; the user first, so a reader never pairs the new version with the old row
+    public void refresh(Users user, long version) {
+        this.user = user;
+        this.version = version;
+    }
     
 }
@@ -0,0 +1,42 @@
+package com.example.course_management_system.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * One enrollment row of a bulk import, referring to the student and the
+ * course by id. A missing date or status defaults like a new
+ * {@link Enrollments}.
+ */
+public class EnrollmentRecord {
+
+    private int userId;
+    private int courseId;
+    private String status;
+    private LocalDateTime enrollAt;
+
+    public EnrollmentRecord(int userId, int courseId, String status, LocalDateTime enrollAt) {
+        this.userId = userId;
+        this.courseId = courseId;
+        this.status = status == null || status.isBlank() ? "learning" : status.toLowerCase();
+        if (!this.status.equals("learning") && !this.status.equals("completed") && !this.status.equals("dropped")) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+        this.enrollAt = enrollAt == null ? LocalDateTime.now() : enrollAt;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getEnrollAt() {
+        return enrollAt;
+    }
+}
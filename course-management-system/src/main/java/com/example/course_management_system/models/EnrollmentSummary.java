@@ -0,0 +1,52 @@
+package com.example.course_management_system.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat view of one enrollment for the JSON endpoints, so responses never
+ * serialize entities or their lazy associations.
+ */
+public class EnrollmentSummary {
+
+    private final int enrollId;
+    private final String status;
+    private final LocalDateTime enrollAt;
+    private final int courseId;
+    private final String courseName;
+    private final String instructorName;
+
+    public EnrollmentSummary(Enrollments enrollment) {
+        Courses course = enrollment.getCourse();
+        Users instructor = course.getUser();
+        this.enrollId = enrollment.getEnrollId();
+        this.status = enrollment.getStatus();
+        this.enrollAt = enrollment.getEnrollAt();
+        this.courseId = course.getCourseId();
+        this.courseName = course.getName();
+        this.instructorName = instructor == null ? null : instructor.getFirstname() + " " + instructor.getLastname();
+    }
+
+    public int getEnrollId() {
+        return enrollId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getEnrollAt() {
+        return enrollAt;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    public String getInstructorName() {
+        return instructorName;
+    }
+}
@@ -5,6 +5,7 @@ import java.time.format.DateTimeFormatter;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -27,11 +28,11 @@ public class Enrollments {
     @Column(name = "status", nullable = false)
     private String status;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
         @JoinColumn(name = "user_id")
         private Users user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
         @JoinColumn(name = "course_id")
         private Courses course;
 
@@ -0,0 +1,12 @@
+package com.example.course_management_system.models;
+
+/**
+ * Projection for grouped {@code COUNT} queries: one row per grouping key
+ * (user, course, category...) with the number of rows in that group.
+ */
+public interface GroupCount {
+
+    int getGroupId();
+
+    long getTotal();
+}
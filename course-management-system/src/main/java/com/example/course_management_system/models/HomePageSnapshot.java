@@ -0,0 +1,73 @@
+package com.example.course_management_system.models;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable copy of everything the public home page shows. Built in the
+ * background by {@code HomePageSnapshotService} and shared by all requests,
+ * so nothing in it may be modified after construction.
+ */
+public class HomePageSnapshot {
+
+    private final List<Categories> categories;
+    private final Map<Integer, Integer> categoryCourseCounts;
+    private final List<Courses> topRatedCourses;
+    private final Map<Integer, Double> courseRatings;
+    private final Map<Integer, Integer> courseReviewCounts;
+    private final List<Reviews> topReviews;
+    private final double averageRating;
+    private final long totalReviews;
+    private final List<Users> topStudents;
+
+    public HomePageSnapshot(List<Categories> categories, Map<Integer, Integer> categoryCourseCounts, List<Courses> topRatedCourses,
+            Map<Integer, Double> courseRatings, Map<Integer, Integer> courseReviewCounts, List<Reviews> topReviews,
+            double averageRating, long totalReviews, List<Users> topStudents) {
+        this.categories = List.copyOf(categories);
+        this.categoryCourseCounts = Map.copyOf(categoryCourseCounts);
+        this.topRatedCourses = List.copyOf(topRatedCourses);
+        this.courseRatings = Map.copyOf(courseRatings);
+        this.courseReviewCounts = Map.copyOf(courseReviewCounts);
+        this.topReviews = List.copyOf(topReviews);
+        this.averageRating = averageRating;
+        this.totalReviews = totalReviews;
+        this.topStudents = List.copyOf(topStudents);
+    }
+
+    public List<Categories> getCategories() {
+        return categories;
+    }
+
+    // Course count of every category, by category id; categories without courses are absent
+    public Map<Integer, Integer> getCategoryCourseCounts() {
+        return categoryCourseCounts;
+    }
+
+    public List<Courses> getTopRatedCourses() {
+        return topRatedCourses;
+    }
+
+    public Map<Integer, Double> getCourseRatings() {
+        return courseRatings;
+    }
+
+    public Map<Integer, Integer> getCourseReviewCounts() {
+        return courseReviewCounts;
+    }
+
+    public List<Reviews> getTopReviews() {
+        return topReviews;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+
+    public long getTotalReviews() {
+        return totalReviews;
+    }
+
+    public List<Users> getTopStudents() {
+        return topStudents;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.course_management_system.models;
+
+/**
+ * Projection for the per-instructor course and review totals of the
+ * instructor analytics.
+ */
+public interface InstructorCourseTotals {
+
+    int getUserId();
+
+    long getCourseCount();
+
+    long getReviewCount();
+
+    long getRatingSum();
+}
@@ -0,0 +1,30 @@
+package com.example.course_management_system.models;
+
+import java.util.List;
+
+/**
+ * One page of the instructor roster, in user id order, and the id to
+ * continue after.
+ */
+public class InstructorPage {
+
+    private final List<InstructorStats> instructors;
+    private final Integer nextCursor;
+
+    public InstructorPage(List<InstructorStats> instructors, Integer nextCursor) {
+        this.instructors = instructors;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<InstructorStats> getInstructors() {
+        return instructors;
+    }
+
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.course_management_system.models;
+
+/**
+ * An instructor with the totals shown on the admin instructor page.
+ */
+public class InstructorStats {
+
+    private final Users user;
+    private final String specialization;
+    private final int courseCount;
+    private final int studentCount;
+    private final int reviewCount;
+    private final double averageRating;
+
+    public InstructorStats(Users user, String specialization, int courseCount, int studentCount, int reviewCount, long ratingSum) {
+        this.user = user;
+        this.specialization = specialization;
+        this.courseCount = courseCount;
+        this.studentCount = studentCount;
+        this.reviewCount = reviewCount;
+        double average = reviewCount > 0 ? (double) ratingSum / reviewCount : 0;
+        this.averageRating = Math.round(average * 10.0) / 10.0;
+    }
+
+    public Users getUser() {
+        return user;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public int getCourseCount() {
+        return courseCount;
+    }
+
+    public int getStudentCount() {
+        return studentCount;
+    }
+
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    // Over all reviews of all of the instructor's courses, rounded to one decimal
+    public double getAverageRating() {
+        return averageRating;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.course_management_system.models;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -24,7 +25,7 @@ public class Lessons {
     @Column(name = "video_url")
     private String videoUrl;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
         @JoinColumn(name = "course_id")
         private Courses course;
 
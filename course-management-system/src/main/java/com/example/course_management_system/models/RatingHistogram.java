@@ -0,0 +1,19 @@
+package com.example.course_management_system.models;
+
+/**
+ * Projection of the per-course star histogram computed over the Reviews table.
+ */
+public interface RatingHistogram {
+
+    int getCourseId();
+
+    long getOneStar();
+
+    long getTwoStar();
+
+    long getThreeStar();
+
+    long getFourStar();
+
+    long getFiveStar();
+}
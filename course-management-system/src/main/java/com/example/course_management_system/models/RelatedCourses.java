@@ -0,0 +1,34 @@
+package com.example.course_management_system.models;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The courses recommended next to one course, best first, with their
+ * rating summaries by course id. Shared between requests, so nothing in it
+ * may be modified.
+ */
+public class RelatedCourses {
+
+    private final List<Courses> courses;
+    private final Map<Integer, Double> courseRatings;
+    private final Map<Integer, Integer> courseReviewCounts;
+
+    public RelatedCourses(List<Courses> courses, Map<Integer, Double> courseRatings, Map<Integer, Integer> courseReviewCounts) {
+        this.courses = List.copyOf(courses);
+        this.courseRatings = Map.copyOf(courseRatings);
+        this.courseReviewCounts = Map.copyOf(courseReviewCounts);
+    }
+
+    public List<Courses> getCourses() {
+        return courses;
+    }
+
+    public Map<Integer, Double> getCourseRatings() {
+        return courseRatings;
+    }
+
+    public Map<Integer, Integer> getCourseReviewCounts() {
+        return courseReviewCounts;
+    }
+}
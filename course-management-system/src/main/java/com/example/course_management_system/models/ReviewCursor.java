@@ -0,0 +1,54 @@
+package com.example.course_management_system.models;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last review of a page of course reviews, newest first:
+ * its date plus its id to break ties. Travels in the URL as an opaque token.
+ */
+public class ReviewCursor {
+
+    private final LocalDateTime reviewDate;
+    private final int reviewId;
+
+    public ReviewCursor(LocalDateTime reviewDate, int reviewId) {
+        this.reviewDate = reviewDate;
+        this.reviewId = reviewId;
+    }
+
+    public LocalDateTime getReviewDate() {
+        return reviewDate;
+    }
+
+    public int getReviewId() {
+        return reviewId;
+    }
+
+    public String encode() {
+        String raw = reviewDate + "|" + reviewId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a token produced by {@link #encode()}. Returns {@code null} for a
+     * missing or malformed token, so that the caller starts from the newest
+     * review.
+     */
+    public static ReviewCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 2) {
+                return null;
+            }
+            return new ReviewCursor(LocalDateTime.parse(parts[0]), Integer.parseInt(parts[1]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.course_management_system.models;
+
+import java.util.List;
+
+/**
+ * One page of a course's reviews, newest first, and the token to request
+ * the next one.
+ */
+public class ReviewPage {
+
+    private final List<Reviews> reviews;
+    private final String nextCursor;
+
+    public ReviewPage(List<Reviews> reviews, String nextCursor) {
+        this.reviews = reviews;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Reviews> getReviews() {
+        return reviews;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.course_management_system.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * One review row of a bulk import, referring to the reviewer and the course
+ * by id. A missing date defaults to now like a new {@link Reviews}.
+ */
+public class ReviewRecord {
+
+    private int userId;
+    private int courseId;
+    private int rating;
+    private String comment;
+    private LocalDateTime reviewDate;
+
+    public ReviewRecord(int userId, int courseId, int rating, String comment, LocalDateTime reviewDate) {
+        if (rating < 1 || rating > 5) {
+            throw new IllegalArgumentException("Rating must between 1 and 5!");
+        }
+        this.userId = userId;
+        this.courseId = courseId;
+        this.rating = rating;
+        this.comment = comment;
+        this.reviewDate = reviewDate == null ? LocalDateTime.now() : reviewDate;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public int getRating() {
+        return rating;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public LocalDateTime getReviewDate() {
+        return reviewDate;
+    }
+}
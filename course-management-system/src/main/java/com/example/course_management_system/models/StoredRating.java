@@ -0,0 +1,11 @@
+package com.example.course_management_system.models;
+
+/**
+ * Projection of a review's rating and course as stored in the Reviews table.
+ */
+public interface StoredRating {
+
+    int getCourseId();
+
+    int getRating();
+}
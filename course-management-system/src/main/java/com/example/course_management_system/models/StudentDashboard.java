@@ -0,0 +1,61 @@
+package com.example.course_management_system.models;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the student dashboard renders, assembled by
+ * {@code StudentDashboardService}: the student's courses by enrollment
+ * status, their rating summaries by course id, and co-enrollment
+ * recommendations with the students they share.
+ */
+public class StudentDashboard {
+
+    private final List<Courses> learnings;
+    private final List<Courses> completeds;
+    private final List<Courses> droppeds;
+    private final Map<Integer, Double> courseRatings;
+    private final Map<Integer, Integer> courseReviewCounts;
+    private final List<Courses> recommendedCourses;
+    private final Map<Integer, Integer> recommendedStudents;
+
+    public StudentDashboard(List<Courses> learnings, List<Courses> completeds, List<Courses> droppeds,
+            Map<Integer, Double> courseRatings, Map<Integer, Integer> courseReviewCounts,
+            List<Courses> recommendedCourses, Map<Integer, Integer> recommendedStudents) {
+        this.learnings = learnings;
+        this.completeds = completeds;
+        this.droppeds = droppeds;
+        this.courseRatings = courseRatings;
+        this.courseReviewCounts = courseReviewCounts;
+        this.recommendedCourses = recommendedCourses;
+        this.recommendedStudents = recommendedStudents;
+    }
+
+    public List<Courses> getLearnings() {
+        return learnings;
+    }
+
+    public List<Courses> getCompleteds() {
+        return completeds;
+    }
+
+    public List<Courses> getDroppeds() {
+        return droppeds;
+    }
+
+    public Map<Integer, Double> getCourseRatings() {
+        return courseRatings;
+    }
+
+    public Map<Integer, Integer> getCourseReviewCounts() {
+        return courseReviewCounts;
+    }
+
+    public List<Courses> getRecommendedCourses() {
+        return recommendedCourses;
+    }
+
+    public Map<Integer, Integer> getRecommendedStudents() {
+        return recommendedStudents;
+    }
+}
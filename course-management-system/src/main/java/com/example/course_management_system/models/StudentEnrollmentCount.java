@@ -0,0 +1,13 @@
+package com.example.course_management_system.models;
+
+/**
+ * Projection for the per-student enrollment totals shown on the admin pages.
+ */
+public interface StudentEnrollmentCount {
+
+    int getUserId();
+
+    long getTotal();
+
+    long getCompleted();
+}
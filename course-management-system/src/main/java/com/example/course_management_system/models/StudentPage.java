@@ -0,0 +1,30 @@
+package com.example.course_management_system.models;
+
+import java.util.List;
+
+/**
+ * One page of the student roster, in user id order, and the id to
+ * continue after.
+ */
+public class StudentPage {
+
+    private final List<StudentSummary> students;
+    private final Integer nextCursor;
+
+    public StudentPage(List<StudentSummary> students, Integer nextCursor) {
+        this.students = students;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<StudentSummary> getStudents() {
+        return students;
+    }
+
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
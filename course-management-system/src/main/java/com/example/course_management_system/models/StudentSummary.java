@@ -0,0 +1,29 @@
+package com.example.course_management_system.models;
+
+/**
+ * A student with the enrollment totals shown on the admin student page.
+ */
+public class StudentSummary {
+
+    private final Users user;
+    private final int enrollmentCount;
+    private final int completedCount;
+
+    public StudentSummary(Users user, int enrollmentCount, int completedCount) {
+        this.user = user;
+        this.enrollmentCount = enrollmentCount;
+        this.completedCount = completedCount;
+    }
+
+    public Users getUser() {
+        return user;
+    }
+
+    public int getEnrollmentCount() {
+        return enrollmentCount;
+    }
+
+    public int getCompletedCount() {
+        return completedCount;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.course_management_system.models;
+
+import java.util.function.IntFunction;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * The logged-in user as rebuilt on every request from the signed token
+ * cookie (stateless mode) or the JDBC session store: only the user id, role
+ * and user version. The full {@code Users} row is read on the first
+ * {@link #getUser()} of a request, so pages that do not show the user's
+ * profile never touch the database.
+ */
+public class TokenPrincipal implements AuthenticatedPrincipal {
+
+    private final int userId;
+    private final String role;
+    private final long version;
+    private final long expiresAt;
+    private final IntFunction<Users> userLoader;
+
+    private Users user;
+
+    public TokenPrincipal(int userId, String role, long version, long expiresAt, IntFunction<Users> userLoader) {
+        this.userId = userId;
+        this.role = role;
+        this.version = version;
+        this.expiresAt = expiresAt;
+        this.userLoader = userLoader;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // Epoch second after which the token is no longer accepted; 0 when the login is held in a session
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    // Null when the user has been deleted since the token was issued
+    public Users getUser() {
+        if (user == null) {
+            user = userLoader.apply(userId);
+        }
+        return user;
+    }
+
+    // The same login with a freshly loaded row
+    public TokenPrincipal refresh(Users user, long version) {
+        TokenPrincipal refreshed = new TokenPrincipal(userId, user.getRole(), version, expiresAt, userLoader);
+        refreshed.user = user;
+        return refreshed;
+    }
+
+    @Override
+    public String getName() {
+        return String.valueOf(userId);
+    }
+}
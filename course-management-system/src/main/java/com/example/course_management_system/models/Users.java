@@ -45,6 +45,10 @@ public class Users {
     @Column(name = "date_created", nullable = false, updatable = false)
     private LocalDateTime dateCreated;
 
+    // Raised by UsersRepository.incrementVersion on every change, never written from the entity
+    @Column(name = "version", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
+    private long version;
+
     public Users() {
         this.dateCreated = LocalDateTime.now();
         this.role = "student";
@@ -131,6 +135,10 @@ public class Users {
         return dateCreated;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public String getFormattedDateCreated() {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd MMM, yyyy");
         return dateCreated.format(formatter);
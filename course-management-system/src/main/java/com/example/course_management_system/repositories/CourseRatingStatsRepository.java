@@ -0,0 +1,28 @@
+package com.example.course_management_system.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.course_management_system.models.CourseRatingStats;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface CourseRatingStatsRepository extends JpaRepository<CourseRatingStats, Integer> {
+
+    // Row lock so concurrent review writes on one course apply their deltas one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CourseRatingStats s WHERE s.courseId = :courseId")
+    Optional<CourseRatingStats> findForUpdate(@Param("courseId") int courseId);
+
+    @Query("SELECT COALESCE(SUM(s.reviewCount), 0) FROM CourseRatingStats s")
+    long sumReviewCounts();
+
+    @Query("SELECT COALESCE(SUM(s.ratingSum), 0) FROM CourseRatingStats s")
+    long sumRatings();
+}
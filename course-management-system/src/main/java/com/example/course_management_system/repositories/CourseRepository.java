@@ -1,23 +1,76 @@
 package com.example.course_management_system.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.course_management_system.models.Categories;
 import com.example.course_management_system.models.Courses;
+import com.example.course_management_system.models.GroupCount;
+import com.example.course_management_system.models.InstructorCourseTotals;
 
 
 @Repository
-public interface CourseRepository extends JpaRepository<Courses, Integer> {
+public interface CourseRepository extends JpaRepository<Courses, Integer>, CourseRepositoryCustom {
 
+    // Course lists are rendered with their category and instructor, so both come in the same select
+    @Override
+    @EntityGraph(attributePaths = {"category", "user"})
+    List<Courses> findAll();
+
+    @EntityGraph(attributePaths = {"category", "user"})
     List<Courses> findByCategory(Categories category);
 
+    @EntityGraph(attributePaths = {"category", "user"})
     Optional<Courses> findById(int courseId);
 
+    @EntityGraph(attributePaths = {"category", "user"})
     List<Courses> findByUser_UserId(int userId);
+
+    @EntityGraph(attributePaths = {"category", "user"})
+    List<Courses> findTop5ByOrderByCourseIdDesc();
+
+    @Query("SELECT c.user.userId AS groupId, COUNT(c) AS total FROM Courses c " +
+           "WHERE c.user.userId IN :userIds GROUP BY c.user.userId")
+    List<GroupCount> countByInstructorIds(@Param("userIds") Collection<Integer> userIds);
+
+    // Course count and review totals per instructor; the rating summary row is one per course, so nothing fans out
+    @Query("SELECT c.user.userId AS userId, COUNT(c) AS courseCount, " +
+           "COALESCE(SUM(s.reviewCount), 0) AS reviewCount, COALESCE(SUM(s.ratingSum), 0) AS ratingSum " +
+           "FROM Courses c LEFT JOIN CourseRatingStats s ON s.courseId = c.courseId " +
+           "WHERE c.user.userId IN :userIds GROUP BY c.user.userId")
+    List<InstructorCourseTotals> findInstructorCourseTotals(@Param("userIds") Collection<Integer> userIds);
+
+    @Query("SELECT c.category.categoryId AS groupId, COUNT(c) AS total FROM Courses c GROUP BY c.category.categoryId")
+    List<GroupCount> countByCategory();
+
+    // Moves a course's duration by a lesson's change without reading the course
+    @Modifying
+    @Query("UPDATE Courses c SET c.duration = c.duration + :delta WHERE c.courseId = :courseId")
+    int addDuration(@Param("courseId") int courseId, @Param("delta") int delta);
+
+    @Query("SELECT c.courseId FROM Courses c WHERE c.courseId > :afterId ORDER BY c.courseId")
+    List<Integer> findIdsAfter(@Param("afterId") int afterId, Pageable pageable);
+
+    // Courses among the given ones whose duration no longer equals the total of their lessons
+    @Query("SELECT c.courseId FROM Courses c WHERE c.courseId IN :courseIds " +
+           "AND c.duration <> (SELECT SUM(l.duration) FROM Lessons l WHERE l.course.courseId = c.courseId)")
+    List<Integer> findDurationDrift(@Param("courseIds") Collection<Integer> courseIds);
+
+    // Sets each course's duration to the total of its lessons in one statement
+    @Modifying
+    @Query("UPDATE Courses c SET c.duration = " +
+           "(SELECT COALESCE(SUM(l.duration), 0) FROM Lessons l WHERE l.course.courseId = c.courseId) " +
+           "WHERE c.courseId IN :courseIds")
+    int recomputeDurations(@Param("courseIds") Collection<Integer> courseIds);
 }
 
     
@@ -0,0 +1,17 @@
+package com.example.course_management_system.repositories;
+
+import java.util.List;
+
+import com.example.course_management_system.models.CourseCursor;
+import com.example.course_management_system.models.CourseFilter;
+import com.example.course_management_system.models.CourseSort;
+
+public interface CourseRepositoryCustom {
+
+    /**
+     * Seeks to the row after {@code after} (or the start when it is
+     * {@code null}) and returns up to {@code limit} rows. Each row is the
+     * course followed by its unrounded average rating.
+     */
+    List<Object[]> findPage(CourseFilter filter, CourseSort sort, CourseCursor after, int limit);
+}
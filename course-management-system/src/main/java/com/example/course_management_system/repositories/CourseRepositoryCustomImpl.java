@@ -0,0 +1,80 @@
+package com.example.course_management_system.repositories;
+
+import java.util.List;
+
+import com.example.course_management_system.models.CourseCursor;
+import com.example.course_management_system.models.CourseFilter;
+import com.example.course_management_system.models.CourseSort;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+public class CourseRepositoryCustomImpl implements CourseRepositoryCustom {
+
+    private static final String RATING = "COALESCE(s.averageRating, 0.0)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> findPage(CourseFilter filter, CourseSort sort, CourseCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT c, " + RATING + " FROM Courses c " +
+            "LEFT JOIN FETCH c.category LEFT JOIN FETCH c.user " +
+            "LEFT JOIN CourseRatingStats s ON s.courseId = c.courseId WHERE 1 = 1");
+
+        if (filter.getCategoryId() != null) {
+            jpql.append(" AND c.category.categoryId = :categoryId");
+        }
+        if (filter.getSkillLevel() != null) {
+            jpql.append(" AND c.skillLevel = :skillLevel");
+        }
+        if (filter.getStatus() != null) {
+            jpql.append(" AND c.status = :status");
+        }
+
+        switch (sort) {
+            case NEWEST:
+                if (after != null) {
+                    // NULL creation dates sort last, so once we are past them only lower ids remain
+                    jpql.append(after.getCreatedAt() != null
+                        ? " AND (c.createdAt < :afterCreatedAt OR (c.createdAt = :afterCreatedAt AND c.courseId < :afterId) OR c.createdAt IS NULL)"
+                        : " AND c.createdAt IS NULL AND c.courseId < :afterId");
+                }
+                jpql.append(" ORDER BY c.createdAt DESC NULLS LAST, c.courseId DESC");
+                break;
+            case RATING:
+                if (after != null) {
+                    jpql.append(" AND (" + RATING + " < :afterRating OR (" + RATING + " = :afterRating AND c.courseId < :afterId))");
+                }
+                jpql.append(" ORDER BY " + RATING + " DESC, c.courseId DESC");
+                break;
+            default:
+                if (after != null) {
+                    jpql.append(" AND c.courseId > :afterId");
+                }
+                jpql.append(" ORDER BY c.courseId");
+                break;
+        }
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        if (filter.getCategoryId() != null) {
+            query.setParameter("categoryId", filter.getCategoryId());
+        }
+        if (filter.getSkillLevel() != null) {
+            query.setParameter("skillLevel", filter.getSkillLevel());
+        }
+        if (filter.getStatus() != null) {
+            query.setParameter("status", filter.getStatus());
+        }
+        if (after != null) {
+            query.setParameter("afterId", after.getCourseId());
+            if (sort == CourseSort.NEWEST && after.getCreatedAt() != null) {
+                query.setParameter("afterCreatedAt", after.getCreatedAt());
+            } else if (sort == CourseSort.RATING) {
+                query.setParameter("afterRating", after.getRating());
+            }
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
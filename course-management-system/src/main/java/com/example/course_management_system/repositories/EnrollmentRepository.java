@@ -1,20 +1,42 @@
 package com.example.course_management_system.repositories;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.course_management_system.models.Enrollments;
+import com.example.course_management_system.models.GroupCount;
+import com.example.course_management_system.models.StudentEnrollmentCount;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollments, Integer> {
-    
+
+    @EntityGraph(attributePaths = "user")
     List<Enrollments> findByCourse_CourseId(int courseId);
 
+    // A student's enrollments are shown as course cards, which need the course and its instructor
+    @EntityGraph(attributePaths = {"course", "course.user"})
     List<Enrollments> findByUser_UserId(int userId);
 
+    @EntityGraph(attributePaths = {"course", "course.user"})
     List<Enrollments> findByUser_UserIdAndStatus(@Param("userId") int userId, @Param("status") String status);
 
+    @Query("SELECT e.course.courseId AS groupId, COUNT(e) AS total FROM Enrollments e " +
+           "WHERE e.course.courseId IN :courseIds GROUP BY e.course.courseId")
+    List<GroupCount> countByCourseIds(@Param("courseIds") Collection<Integer> courseIds);
+
+    @Query("SELECT e.course.user.userId AS groupId, COUNT(e) AS total FROM Enrollments e " +
+           "WHERE e.course.user.userId IN :userIds GROUP BY e.course.user.userId")
+    List<GroupCount> countByInstructorIds(@Param("userIds") Collection<Integer> userIds);
+
+    @Query("SELECT e.user.userId AS userId, COUNT(e) AS total, " +
+           "SUM(CASE WHEN LOWER(e.status) = 'completed' THEN 1 ELSE 0 END) AS completed " +
+           "FROM Enrollments e WHERE e.user.userId IN :userIds GROUP BY e.user.userId")
+    List<StudentEnrollmentCount> countByStudentIds(@Param("userIds") Collection<Integer> userIds);
+
 }
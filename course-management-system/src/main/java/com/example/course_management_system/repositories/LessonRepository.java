@@ -2,6 +2,7 @@ package com.example.course_management_system.repositories;
 
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,6 +11,8 @@ import com.example.course_management_system.models.Lessons;
 @Repository
 public interface LessonRepository extends JpaRepository<Lessons, Integer> {
 
+    // Lesson lists are cached, so the course has to be loaded before the session closes
+    @EntityGraph(attributePaths = "course")
     List<Lessons> findByCourse_CourseId(int courseId);
 
        
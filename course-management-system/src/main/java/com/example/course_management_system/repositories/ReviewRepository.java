@@ -1,17 +1,70 @@
 package com.example.course_management_system.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.course_management_system.models.GroupCount;
+import com.example.course_management_system.models.RatingHistogram;
 import com.example.course_management_system.models.Reviews;
+import com.example.course_management_system.models.StoredRating;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Reviews, Integer> {
 
+    @Override
+    @EntityGraph(attributePaths = {"user", "course"})
+    List<Reviews> findAll();
+
+    @EntityGraph(attributePaths = {"user", "course"})
     List<Reviews> findByCourse_CourseId(int courseId);
 
     int countByCourse_CourseId(int courseId); 
 
+    // Newest reviews of a course first; the review id breaks ties between equal dates
+    @EntityGraph(attributePaths = {"user"})
+    @Query("SELECT r FROM Reviews r WHERE r.course.courseId = :courseId ORDER BY r.reviewDate DESC, r.reviewId DESC")
+    List<Reviews> findNewestByCourse(@Param("courseId") int courseId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user"})
+    @Query("SELECT r FROM Reviews r WHERE r.course.courseId = :courseId " +
+           "AND (r.reviewDate < :reviewDate OR (r.reviewDate = :reviewDate AND r.reviewId < :reviewId)) " +
+           "ORDER BY r.reviewDate DESC, r.reviewId DESC")
+    List<Reviews> findNewestByCourseAfter(@Param("courseId") int courseId, @Param("reviewDate") LocalDateTime reviewDate,
+                                          @Param("reviewId") int reviewId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "course"})
+    List<Reviews> findTop2ByOrderByRatingDescReviewIdAsc();
+
+    // The row as committed: no flush first, so an edited but unsaved managed review is not written and read back
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT r.course.courseId AS courseId, r.rating AS rating FROM Reviews r WHERE r.reviewId = :reviewId")
+    Optional<StoredRating> findStoredRating(@Param("reviewId") int reviewId);
+
+    @Query("SELECT r.course.user.userId AS groupId, COUNT(r) AS total FROM Reviews r " +
+           "WHERE r.course.user.userId IN :userIds GROUP BY r.course.user.userId")
+    List<GroupCount> countByInstructorIds(@Param("userIds") Collection<Integer> userIds);
+
+    @Query("SELECT r.course.courseId AS courseId, " +
+           "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END) AS oneStar, " +
+           "SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END) AS twoStar, " +
+           "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END) AS threeStar, " +
+           "SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END) AS fourStar, " +
+           "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END) AS fiveStar " +
+           "FROM Reviews r GROUP BY r.course.courseId")
+    List<RatingHistogram> findRatingHistograms();
+
 }
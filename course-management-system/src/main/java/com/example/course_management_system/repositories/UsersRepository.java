@@ -3,8 +3,10 @@ package com.example.course_management_system.repositories;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,9 +14,57 @@ import com.example.course_management_system.models.Users;
 
 @Repository
 public interface UsersRepository extends JpaRepository<Users, Integer> {
+    String STUDENT_SEARCH = "(:search IS NULL " +
+        "OR LOWER(CONCAT(u.firstname, ' ', u.lastname)) LIKE :search ESCAPE '!' " +
+        "OR LOWER(u.username) LIKE :search ESCAPE '!' " +
+        "OR LOWER(u.email) LIKE :search ESCAPE '!')";
+
     @Query("SELECT u FROM Users u WHERE u.role = :role")
     List<Users> findByRole(@Param("role") String role);
 
     Users findByUsername(String username);
 
+    // Replaces a stored password hash without loading the user
+    @Modifying
+    @Query("UPDATE Users u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
+    // Marks every principal holding an older copy of the user as stale, on every node
+    @Modifying
+    @Query("UPDATE Users u SET u.version = u.version + 1 WHERE u.userId = :userId")
+    int incrementVersion(@Param("userId") int userId);
+
+    // Null when the user does not exist
+    @Query("SELECT u.version FROM Users u WHERE u.userId = :userId")
+    Long findVersion(@Param("userId") int userId);
+
+    long countByRole(String role);
+
+    // A page of students after the given id; {@code search} is a lowercase LIKE pattern escaped with '!', or null
+    @Query("SELECT u FROM Users u WHERE u.role = 'student' AND u.userId > :afterId AND " + STUDENT_SEARCH + " ORDER BY u.userId")
+    List<Users> findStudentsAfter(@Param("afterId") int afterId, @Param("search") String search, Pageable pageable);
+
+    @Query("SELECT COUNT(u) FROM Users u WHERE u.role = 'student' AND " + STUDENT_SEARCH)
+    long countStudents(@Param("search") String search);
+
+    // A page of instructors after the given id, each followed by its specialization name (or null)
+    @Query("SELECT u, sp.specializationName FROM Users u " +
+           "LEFT JOIN Specializations sp ON sp.user = u " +
+           "WHERE u.role = 'instructor' AND u.userId > :afterId ORDER BY u.userId")
+    List<Object[]> findInstructorsAfter(@Param("afterId") int afterId, Pageable pageable);
+
+    // Instructors ranked by the number of enrollments across all of their courses
+    @Query("SELECT u.userId FROM Users u " +
+           "LEFT JOIN Courses c ON c.user = u " +
+           "LEFT JOIN Enrollments e ON e.course = c " +
+           "WHERE u.role = 'instructor' " +
+           "GROUP BY u.userId ORDER BY COUNT(e) DESC, u.userId")
+    List<Integer> findTopInstructorIdsByStudentCount(Pageable pageable);
+
+    // Students ranked by the number of courses they are enrolled in
+    @Query("SELECT u.userId FROM Users u " +
+           "LEFT JOIN Enrollments e ON e.user = u " +
+           "WHERE u.role = 'student' " +
+           "GROUP BY u.userId ORDER BY COUNT(e) DESC, u.userId")
+    List<Integer> findTopStudentIdsByEnrollmentCount(Pageable pageable);
 }
@@ -0,0 +1,98 @@
+package com.example.course_management_system.services;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.course_management_system.models.AdminDashboard;
+import com.example.course_management_system.models.GroupCount;
+import com.example.course_management_system.models.StudentEnrollmentCount;
+import com.example.course_management_system.models.Users;
+import com.example.course_management_system.repositories.CourseRepository;
+import com.example.course_management_system.repositories.EnrollmentRepository;
+import com.example.course_management_system.repositories.ReviewRepository;
+import com.example.course_management_system.repositories.UsersRepository;
+
+/**
+ * Builds the admin dashboard from grouped COUNT/SUM queries so that the page
+ * costs a fixed number of statements however many users and courses exist.
+ */
+@Service
+public class AdminDashboardService {
+
+    private static final int TOP_LIMIT = 5;
+
+    private CourseRepository courseRepository;
+    private UsersRepository usersRepository;
+    private EnrollmentRepository enrollmentRepository;
+    private ReviewRepository reviewRepository;
+    private UserService userService;
+
+    public AdminDashboardService(CourseRepository courseRepository, UsersRepository usersRepository, EnrollmentRepository enrollmentRepository, ReviewRepository reviewRepository, UserService userService) {
+        this.courseRepository = courseRepository;
+        this.usersRepository = usersRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.reviewRepository = reviewRepository;
+        this.userService = userService;
+    }
+
+    @Transactional(readOnly = true)
+    public AdminDashboard getDashboard() {
+        List<Users> instructors = userService.getTopInstructors(TOP_LIMIT);
+        List<Users> students = userService.getTopStudents(TOP_LIMIT);
+
+        Map<Integer, Integer> coursesOfInstructor = new HashMap<>();
+        Map<Integer, Integer> studentsOfInstructor = new HashMap<>();
+        Map<Integer, Integer> reviewsOfInstructor = new HashMap<>();
+        Map<Integer, Integer> coursesOfStudent = new HashMap<>();
+        Map<Integer, Integer> completedOfStudent = new HashMap<>();
+
+        if (!instructors.isEmpty()) {
+            List<Integer> instructorIds = instructors.stream().map(Users::getUserId).collect(Collectors.toList());
+            for (Integer id : instructorIds) {
+                coursesOfInstructor.put(id, 0);
+                studentsOfInstructor.put(id, 0);
+                reviewsOfInstructor.put(id, 0);
+            }
+            putCounts(coursesOfInstructor, courseRepository.countByInstructorIds(instructorIds));
+            putCounts(studentsOfInstructor, enrollmentRepository.countByInstructorIds(instructorIds));
+            putCounts(reviewsOfInstructor, reviewRepository.countByInstructorIds(instructorIds));
+        }
+
+        if (!students.isEmpty()) {
+            List<Integer> studentIds = students.stream().map(Users::getUserId).collect(Collectors.toList());
+            for (Integer id : studentIds) {
+                coursesOfStudent.put(id, 0);
+                completedOfStudent.put(id, 0);
+            }
+            for (StudentEnrollmentCount count : enrollmentRepository.countByStudentIds(studentIds)) {
+                coursesOfStudent.put(count.getUserId(), (int) count.getTotal());
+                completedOfStudent.put(count.getUserId(), (int) count.getCompleted());
+            }
+        }
+
+        return new AdminDashboard(
+            courseRepository.count(),
+            usersRepository.countByRole("student"),
+            usersRepository.countByRole("instructor"),
+            reviewRepository.count(),
+            courseRepository.findTop5ByOrderByCourseIdDesc(),
+            instructors,
+            students,
+            coursesOfInstructor,
+            studentsOfInstructor,
+            reviewsOfInstructor,
+            coursesOfStudent,
+            completedOfStudent);
+    }
+
+    private static void putCounts(Map<Integer, Integer> target, List<GroupCount> counts) {
+        for (GroupCount count : counts) {
+            target.put(count.getGroupId(), (int) count.getTotal());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.course_management_system.services;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A value built from the database and swapped in whole, so readers never
+ * wait on a build. Writes mark it stale, and the owner's scheduled check
+ * rebuilds it then, or once it reaches its maximum age. A failed scheduled
+ * build keeps the previous value and is retried on the next check.
+ */
+final class BackgroundRebuild<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackgroundRebuild.class);
+
+    private final String name;
+    // Null when only writes make the value out of date
+    private final Duration maxAge;
+    private final Supplier<T> builder;
+    private final AtomicBoolean stale = new AtomicBoolean(false);
+
+    private volatile T value;
+    private volatile long builtAt;
+
+    BackgroundRebuild(String name, Duration maxAge, Supplier<T> builder) {
+        this.name = name;
+        this.maxAge = maxAge;
+        this.builder = builder;
+    }
+
+    // The current value; a caller before the first build waits for it, and only one of them builds
+    T get() {
+        T current = value;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (value == null) {
+                rebuild();
+            }
+            return value;
+        }
+    }
+
+    void markStale() {
+        stale.set(true);
+    }
+
+    // For the owner's scheduled check
+    void rebuildIfNeeded() {
+        boolean expired = maxAge != null && System.nanoTime() - builtAt > maxAge.toNanos();
+        if (stale.get() || value == null || expired) {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                // Keep serving the previous value and try again on the next check
+                stale.set(true);
+                logger.warn("{} rebuild failed", name, e);
+            }
+        }
+    }
+
+    synchronized T rebuild() {
+        // Cleared first so a write that lands during the build triggers another one
+        stale.set(false);
+        T built = builder.get();
+        builtAt = System.nanoTime();
+        value = built;
+        return built;
+    }
+
+    // Changes the current value in place, never while a build is running
+    synchronized void update(Consumer<T> change) {
+        change.accept(get());
+    }
+}
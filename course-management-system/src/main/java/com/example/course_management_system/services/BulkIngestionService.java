@@ -0,0 +1,196 @@
+package com.example.course_management_system.services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.course_management_system.models.EnrollmentRecord;
+import com.example.course_management_system.models.ReviewRecord;
+
+/**
+ * Writes enrollments and reviews imported from the registrar in JDBC
+ * batches. The tables generate their keys with IDENTITY columns, which keeps
+ * Hibernate from batching entity inserts, so the rows go through plain
+ * batched statements instead. Each import runs in one transaction and
+ * either writes every row or none.
+ *
+ * <p>Admins upload the registrar's CSV exports, read by the same parser as
+ * course imports: enrollments with the columns
+ * {@code user_id, course_id, status, enroll_at} and reviews with
+ * {@code user_id, course_id, rating, comment, review_date}. Dates are ISO
+ * date-times; a missing status or date defaults like a new entity.
+ */
+@Service
+public class BulkIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkIngestionService.class);
+
+    private static final String INSERT_ENROLLMENT =
+        "INSERT INTO Enrollments (user_id, course_id, status, enroll_at) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_REVIEW =
+        "INSERT INTO Reviews (user_id, course_id, rating, comment, review_date) VALUES (?, ?, ?, ?, ?)";
+
+    private JdbcTemplate jdbcTemplate;
+    private ReviewService reviewService;
+    private ApplicationEventPublisher eventPublisher;
+    private int batchSize;
+
+    public BulkIngestionService(JdbcTemplate jdbcTemplate, ReviewService reviewService, ApplicationEventPublisher eventPublisher,
+            @Value("${ingest.batch-size:1000}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The ingest batch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.reviewService = reviewService;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    // Reads every row before writing any, so a bad row fails the import up front
+    @Transactional
+    public int importEnrollments(Reader csv) throws IOException {
+        return importEnrollments(readRecords(csv, row -> new EnrollmentRecord(
+            CourseImportService.requiredInt(row, "user_id"),
+            CourseImportService.requiredInt(row, "course_id"),
+            CourseImportService.value(row, "status"),
+            dateTime(row, "enroll_at"))));
+    }
+
+    @Transactional
+    public int importReviews(Reader csv) throws IOException {
+        return importReviews(readRecords(csv, row -> new ReviewRecord(
+            CourseImportService.requiredInt(row, "user_id"),
+            CourseImportService.requiredInt(row, "course_id"),
+            CourseImportService.requiredInt(row, "rating"),
+            CourseImportService.value(row, "comment"),
+            dateTime(row, "review_date"))));
+    }
+
+    // Returns the number of enrollments written
+    @Transactional
+    public int importEnrollments(Iterable<EnrollmentRecord> records) {
+        long start = System.nanoTime();
+        List<EnrollmentRecord> batch = new ArrayList<>(batchSize);
+        // Students and courses of the enrollments that count as taken, for the co-enrollment graph
+        int[] userIds = new int[batchSize];
+        int[] courseIds = new int[batchSize];
+        int taken = 0;
+        int total = 0;
+        for (EnrollmentRecord record : records) {
+            batch.add(record);
+            if (!"dropped".equals(record.getStatus())) {
+                if (taken == userIds.length) {
+                    userIds = Arrays.copyOf(userIds, taken * 2);
+                    courseIds = Arrays.copyOf(courseIds, taken * 2);
+                }
+                userIds[taken] = record.getUserId();
+                courseIds[taken++] = record.getCourseId();
+            }
+            if (batch.size() == batchSize) {
+                total += writeEnrollments(batch);
+            }
+        }
+        total += writeEnrollments(batch);
+        if (total > 0) {
+            eventPublisher.publishEvent(new EnrollmentsAddedEvent(Arrays.copyOf(userIds, taken), Arrays.copyOf(courseIds, taken)));
+        }
+        logger.info("Imported {} enrollments in {} ms", total, (System.nanoTime() - start) / 1_000_000);
+        return total;
+    }
+
+    // Returns the number of reviews written; the course rating summaries move with them
+    @Transactional
+    public int importReviews(Iterable<ReviewRecord> records) {
+        long start = System.nanoTime();
+        List<ReviewRecord> batch = new ArrayList<>(batchSize);
+        Map<Integer, int[]> starCountsByCourse = new HashMap<>();
+        int total = 0;
+        for (ReviewRecord record : records) {
+            batch.add(record);
+            starCountsByCourse.computeIfAbsent(record.getCourseId(), id -> new int[6])[record.getRating()]++;
+            if (batch.size() == batchSize) {
+                total += writeReviews(batch);
+            }
+        }
+        total += writeReviews(batch);
+        reviewService.addRatings(starCountsByCourse);
+        logger.info("Imported {} reviews in {} ms", total, (System.nanoTime() - start) / 1_000_000);
+        return total;
+    }
+
+    private static <T> List<T> readRecords(Reader csv, Function<Map<String, String>, T> toRecord) throws IOException {
+        CourseImportService.RowSource rows = new CourseImportService.CsvRowSource(csv);
+        List<T> records = new ArrayList<>();
+        Map<String, String> row;
+        while ((row = rows.next()) != null) {
+            try {
+                records.add(toRecord.apply(row));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Row " + (records.size() + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return records;
+    }
+
+    private static LocalDateTime dateTime(Map<String, String> row, String key) {
+        String value = CourseImportService.value(row, key);
+        try {
+            return value == null ? null : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + key + ": " + value);
+        }
+    }
+
+    private int writeEnrollments(List<EnrollmentRecord> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ENROLLMENT, batch, batch.size(), this::bindEnrollment);
+        int written = batch.size();
+        batch.clear();
+        return written;
+    }
+
+    private int writeReviews(List<ReviewRecord> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_REVIEW, batch, batch.size(), this::bindReview);
+        int written = batch.size();
+        batch.clear();
+        return written;
+    }
+
+    private void bindEnrollment(PreparedStatement statement, EnrollmentRecord record) throws SQLException {
+        statement.setInt(1, record.getUserId());
+        statement.setInt(2, record.getCourseId());
+        statement.setString(3, record.getStatus());
+        statement.setTimestamp(4, Timestamp.valueOf(record.getEnrollAt()));
+    }
+
+    private void bindReview(PreparedStatement statement, ReviewRecord record) throws SQLException {
+        statement.setInt(1, record.getUserId());
+        statement.setInt(2, record.getCourseId());
+        statement.setInt(3, record.getRating());
+        statement.setString(4, record.getComment());
+        statement.setTimestamp(5, Timestamp.valueOf(record.getReviewDate()));
+    }
+}
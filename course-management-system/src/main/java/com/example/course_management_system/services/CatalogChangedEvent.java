@@ -0,0 +1,18 @@
+package com.example.course_management_system.services;
+
+/**
+ * Published after a write that can change what public pages show (courses,
+ * reviews, users), so precomputed views know they are out of date.
+ */
+public class CatalogChangedEvent {
+
+    private final String source;
+
+    public CatalogChangedEvent(String source) {
+        this.source = source;
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
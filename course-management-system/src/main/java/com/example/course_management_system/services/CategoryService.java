@@ -3,8 +3,10 @@ package com.example.course_management_system.services;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.example.course_management_system.config.CacheConfig;
 import com.example.course_management_system.models.Categories;
 import com.example.course_management_system.repositories.CategoryRepository;
 
@@ -18,6 +20,7 @@ public class CategoryService {
         this.categoryRepository = categoryRepository;
     }
 
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "'all'")
     public List<Categories> getAllCategories() {
         return categoryRepository.findAll();
     }
@@ -0,0 +1,382 @@
+package com.example.course_management_system.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.course_management_system.models.CoEnrolledCourse;
+
+/**
+ * "Students who took this also took": for every pair of courses, the number
+ * of students enrolled in both (dropped enrollments left out). The sparse
+ * course by course matrix and every student's courses are held in arrays
+ * indexed by id with open-addressing int maps as rows, so the counts are
+ * never boxed. Built in one ordered pass over the enrollments on startup
+ * and updated in place as enrollments are added; deletions mark it stale
+ * for a background rebuild.
+ */
+@Service
+public class CoEnrollmentGraph {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoEnrollmentGraph.class);
+
+    // A student enrolled in this many courses says little about any two of them
+    public static final int MAX_COURSES_PER_STUDENT = 200;
+
+    private static final String STUDENT_COURSES =
+        "SELECT DISTINCT user_id, course_id FROM Enrollments WHERE status <> 'dropped' ORDER BY user_id";
+
+    // Readers of the graph against the enrollments added in place
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BackgroundRebuild<Graph> graph = new BackgroundRebuild<>("Co-enrollment graph", null, this::build);
+
+    private JdbcTemplate jdbcTemplate;
+
+    public CoEnrollmentGraph(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Courses sharing the most students with the course, most first
+    public List<CoEnrolledCourse> alsoTook(int courseId, int limit) {
+        Graph current = graph.get();
+        lock.readLock().lock();
+        try {
+            IntIntMap row = current.row(courseId);
+            return row == null ? List.of() : top(row, null, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Courses sharing the most students with the student's own courses, which are left out
+    public List<CoEnrolledCourse> recommendFor(int userId, int limit) {
+        Graph current = graph.get();
+        lock.readLock().lock();
+        try {
+            IntIntMap taken = current.coursesOf(userId);
+            if (taken == null) {
+                return List.of();
+            }
+            IntIntMap scores = new IntIntMap(16);
+            for (int i = 0; i < taken.capacity(); i++) {
+                IntIntMap row = taken.keyAt(i) == IntIntMap.FREE ? null : current.row(taken.keyAt(i));
+                if (row == null) {
+                    continue;
+                }
+                for (int j = 0; j < row.capacity(); j++) {
+                    if (row.keyAt(j) != IntIntMap.FREE && row.valueAt(j) > 0) {
+                        scores.add(row.keyAt(j), row.valueAt(j));
+                    }
+                }
+            }
+            return top(scores, taken, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Students enrolled in the course
+    public int studentCount(int courseId) {
+        Graph current = graph.get();
+        lock.readLock().lock();
+        try {
+            return courseId < current.students.length ? current.students[courseId] : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event instanceof EnrollmentsAddedEvent) {
+            add((EnrollmentsAddedEvent) event);
+        } else if ((event instanceof CourseChangedEvent && ((CourseChangedEvent) event).isDeleted())
+                || (event instanceof UserChangedEvent && ((UserChangedEvent) event).isDeleted())) {
+            // Their enrollments went with them; edits leave the counts as they are
+            graph.markStale();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${coenrollment.check-interval:PT1M}", initialDelayString = "${coenrollment.check-interval:PT1M}")
+    public void rebuildIfStale() {
+        graph.rebuildIfNeeded();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        graph.rebuild();
+    }
+
+    private Graph build() {
+        long start = System.nanoTime();
+        Graph built = new Graph();
+        int[] student = {-1};
+        int[][] courses = {new int[16]};
+        int[] count = {0};
+        jdbcTemplate.query(STUDENT_COURSES, resultSet -> {
+            int userId = resultSet.getInt(1);
+            if (userId != student[0]) {
+                built.addStudent(student[0], courses[0], count[0]);
+                student[0] = userId;
+                count[0] = 0;
+            }
+            if (count[0] == courses[0].length) {
+                courses[0] = Arrays.copyOf(courses[0], count[0] * 2);
+            }
+            courses[0][count[0]++] = resultSet.getInt(2);
+        });
+        built.addStudent(student[0], courses[0], count[0]);
+        logger.info("Built co-enrollment graph of {} enrollments in {} ms", built.enrollments, (System.nanoTime() - start) / 1_000_000);
+        return built;
+    }
+
+    private void add(EnrollmentsAddedEvent event) {
+        graph.update(current -> {
+            lock.writeLock().lock();
+            try {
+                for (int i = 0; i < event.size(); i++) {
+                    current.addEnrollment(event.getUserId(i), event.getCourseId(i));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // The entries with the highest counts, ties broken by course id, skipping the excluded keys
+    static List<CoEnrolledCourse> top(IntIntMap counts, IntIntMap excluded, int limit) {
+        int size = Math.max(0, limit);
+        int[] ids = new int[size];
+        int[] values = new int[size];
+        int found = 0;
+        for (int i = 0; i < counts.capacity(); i++) {
+            int id = counts.keyAt(i);
+            int value = counts.valueAt(i);
+            if (id == IntIntMap.FREE || value <= 0 || (excluded != null && excluded.containsKey(id))) {
+                continue;
+            }
+            // Insertion into the short sorted arrays
+            int at = found;
+            while (at > 0 && (values[at - 1] < value || (values[at - 1] == value && ids[at - 1] > id))) {
+                at--;
+            }
+            if (at == size) {
+                continue;
+            }
+            int last = Math.min(found, size - 1);
+            System.arraycopy(ids, at, ids, at + 1, last - at);
+            System.arraycopy(values, at, values, at + 1, last - at);
+            ids[at] = id;
+            values[at] = value;
+            found = Math.min(found + 1, size);
+        }
+        List<CoEnrolledCourse> result = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            result.add(new CoEnrolledCourse(ids[i], values[i]));
+        }
+        return result;
+    }
+
+    private static class Graph {
+
+        // By course id: the courses sharing students with it and how many
+        IntIntMap[] rows = new IntIntMap[0];
+        // By user id: the student's courses
+        IntIntMap[] studentCourses = new IntIntMap[0];
+        // By course id: its students
+        int[] students = new int[0];
+        long enrollments;
+
+        IntIntMap row(int courseId) {
+            return courseId < rows.length ? rows[courseId] : null;
+        }
+
+        IntIntMap coursesOf(int userId) {
+            return userId < studentCourses.length ? studentCourses[userId] : null;
+        }
+
+        // All distinct courses of one student, from the ordered startup pass
+        void addStudent(int userId, int[] courseIds, int count) {
+            if (userId < 0 || count == 0) {
+                return;
+            }
+            IntIntMap taken = studentRow(userId, count);
+            for (int i = 0; i < count; i++) {
+                taken.put(courseIds[i], 1);
+                countStudent(courseIds[i]);
+            }
+            if (count <= MAX_COURSES_PER_STUDENT) {
+                for (int i = 0; i < count; i++) {
+                    for (int j = i + 1; j < count; j++) {
+                        addPair(courseIds[i], courseIds[j], 1);
+                    }
+                }
+            }
+        }
+
+        void addEnrollment(int userId, int courseId) {
+            IntIntMap taken = studentRow(userId, 4);
+            if (taken.containsKey(courseId)) {
+                return;
+            }
+            int before = taken.size();
+            if (before < MAX_COURSES_PER_STUDENT) {
+                for (int i = 0; i < taken.capacity(); i++) {
+                    if (taken.keyAt(i) != IntIntMap.FREE) {
+                        addPair(courseId, taken.keyAt(i), 1);
+                    }
+                }
+            } else if (before == MAX_COURSES_PER_STUDENT) {
+                // The student just stopped counting, as in a full build; take back their pairs
+                int[] previous = new int[before];
+                int n = 0;
+                for (int i = 0; i < taken.capacity(); i++) {
+                    if (taken.keyAt(i) != IntIntMap.FREE) {
+                        previous[n++] = taken.keyAt(i);
+                    }
+                }
+                for (int i = 0; i < n; i++) {
+                    for (int j = i + 1; j < n; j++) {
+                        addPair(previous[i], previous[j], -1);
+                    }
+                }
+            }
+            taken.put(courseId, 1);
+            countStudent(courseId);
+        }
+
+        private IntIntMap studentRow(int userId, int expected) {
+            if (userId >= studentCourses.length) {
+                studentCourses = Arrays.copyOf(studentCourses, Math.max(userId + 1, studentCourses.length * 2));
+            }
+            if (studentCourses[userId] == null) {
+                studentCourses[userId] = new IntIntMap(expected);
+            }
+            return studentCourses[userId];
+        }
+
+        private void countStudent(int courseId) {
+            if (courseId >= students.length) {
+                students = Arrays.copyOf(students, Math.max(courseId + 1, students.length * 2));
+            }
+            students[courseId]++;
+            enrollments++;
+        }
+
+        private void addPair(int a, int b, int delta) {
+            if (a == b) {
+                return;
+            }
+            rowFor(a).add(b, delta);
+            rowFor(b).add(a, delta);
+        }
+
+        private IntIntMap rowFor(int courseId) {
+            if (courseId >= rows.length) {
+                rows = Arrays.copyOf(rows, Math.max(courseId + 1, rows.length * 2));
+            }
+            if (rows[courseId] == null) {
+                rows[courseId] = new IntIntMap(8);
+            }
+            return rows[courseId];
+        }
+    }
+
+    /**
+     * Open-addressing map from int to int with linear probing. Ids start at
+     * 1, so 0 marks a free slot; entries are never removed, only counted
+     * down to 0.
+     */
+    static final class IntIntMap {
+
+        static final int FREE = 0;
+
+        private int[] keys;
+        private int[] values;
+        private int size;
+
+        IntIntMap(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected * 2) - 1) << 1;
+            keys = new int[capacity];
+            values = new int[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        int keyAt(int slot) {
+            return keys[slot];
+        }
+
+        int valueAt(int slot) {
+            return values[slot];
+        }
+
+        boolean containsKey(int key) {
+            return keys[slot(key)] == key;
+        }
+
+        void put(int key, int value) {
+            int slot = insert(key);
+            values[slot] = value;
+        }
+
+        void add(int key, int delta) {
+            int slot = insert(key);
+            values[slot] += delta;
+        }
+
+        private int insert(int key) {
+            int slot = slot(key);
+            if (keys[slot] == FREE) {
+                if ((size + 1) * 4 > keys.length * 3) {
+                    grow();
+                    slot = slot(key);
+                }
+                keys[slot] = key;
+                size++;
+            }
+            return slot;
+        }
+
+        // The slot holding the key, or the free slot where it would go
+        private int slot(int key) {
+            int mask = keys.length - 1;
+            int hash = key * 0x9E3779B9;
+            int slot = (hash ^ hash >>> 16) & mask;
+            while (keys[slot] != FREE && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldValues.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != FREE) {
+                    int slot = slot(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+}
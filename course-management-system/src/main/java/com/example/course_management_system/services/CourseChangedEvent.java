@@ -0,0 +1,25 @@
+package com.example.course_management_system.services;
+
+/**
+ * A {@link CatalogChangedEvent} for a single course that was saved or
+ * deleted, for views that can update that one course in place.
+ */
+public class CourseChangedEvent extends CatalogChangedEvent {
+
+    private final int courseId;
+    private final boolean deleted;
+
+    public CourseChangedEvent(int courseId, boolean deleted) {
+        super("course");
+        this.courseId = courseId;
+        this.deleted = deleted;
+    }
+
+    public int getCourseId() {
+        return courseId;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+}
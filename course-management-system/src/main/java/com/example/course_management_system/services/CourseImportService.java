@@ -0,0 +1,395 @@
+package com.example.course_management_system.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.course_management_system.config.CacheConfig;
+import com.example.course_management_system.models.Categories;
+import com.example.course_management_system.models.CourseImportResult;
+import com.example.course_management_system.models.Courses;
+import com.example.course_management_system.models.Users;
+import com.example.course_management_system.repositories.CourseRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Imports courses and lessons from a CSV (with a header row) or NDJSON
+ * upload. The input is read one row at a time and written in chunks of
+ * {@code ingest.batch-size} rows, each chunk in its own transaction, so
+ * neither the file nor the import is ever held in memory as a whole.
+ *
+ * <p>Every row has a {@code type} of {@code course} or {@code lesson}.
+ * Course rows take {@code ref, name, description, category_id,
+ * instructor_id, skill_level, status, image, duration}; {@code ref} is a
+ * key of the import file that later lesson rows can point at with
+ * {@code course_ref}. Lesson rows take {@code course_ref} or
+ * {@code course_id, title, description, video_url, duration}. Course
+ * durations are recomputed from their lessons once, after the last chunk.
+ */
+@Service
+public class CourseImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseImportService.class);
+
+    private static final String INSERT_LESSON =
+        "INSERT INTO Lessons (course_id, title, description, video_url, duration) VALUES (?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private CourseRepository courseRepository;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private CacheManager cacheManager;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${ingest.batch-size:1000}")
+    private int batchSize;
+
+    public CourseImportService(CourseRepository courseRepository, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, CacheManager cacheManager, ApplicationEventPublisher eventPublisher) {
+        this.courseRepository = courseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Imports {@code input} as NDJSON when the file name ends in
+     * {@code .ndjson}, {@code .jsonl} or {@code .json}, and as CSV otherwise.
+     * Stops at the first invalid row or read error; chunks written before it
+     * stay committed and are counted in the result.
+     */
+    public CourseImportResult importCourses(InputStream input, String filename) {
+        long start = System.nanoTime();
+        Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+
+        ImportState state = new ImportState();
+        String error = null;
+        try {
+            RowSource rows = name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")
+                ? new JsonRowSource(reader) : new CsvRowSource(reader);
+            List<Map<String, String>> chunk = new ArrayList<>(batchSize);
+            Map<String, String> row;
+            do {
+                row = rows.next();
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == batchSize || (row == null && !chunk.isEmpty())) {
+                    state.chunkSize = chunk.size();
+                    writeChunk(chunk, state);
+                    state.rowNumber += chunk.size();
+                    chunk.clear();
+                }
+            } while (row != null);
+        } catch (IllegalArgumentException e) {
+            error = e.getMessage();
+        } catch (IOException e) {
+            // Also malformed JSON, whose message gives the line and column
+            error = "Could not read the file: " + e.getMessage();
+            logger.warn("Course import failed: {}", error);
+        } catch (DataAccessException | PersistenceException e) {
+            // A whole chunk is written at once, so a database error is pinned to the chunk
+            error = "Rows " + (state.rowNumber + 1) + "-" + (state.rowNumber + state.chunkSize) + ": "
+                + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            logger.warn("Course import failed: {}", error);
+        } finally {
+            finish(state);
+        }
+        logger.info("Imported {} courses and {} lessons in {} ms", state.courses, state.lessons, (System.nanoTime() - start) / 1_000_000);
+        return new CourseImportResult(state.courses, state.lessons, error);
+    }
+
+    private void writeChunk(List<Map<String, String>> chunk, ImportState state) {
+        int[] written = transactionTemplate.execute(status -> {
+            int courses = 0;
+            List<Object[]> lessons = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                Map<String, String> row = chunk.get(i);
+                int rowNumber = state.rowNumber + i + 1;
+                try {
+                    String type = value(row, "type");
+                    if ("course".equalsIgnoreCase(type)) {
+                        Courses course = toCourse(row);
+                        entityManager.persist(course);
+                        String ref = value(row, "ref");
+                        if (ref != null) {
+                            state.courseIdsByRef.put(ref, course.getCourseId());
+                        }
+                        courses++;
+                    } else if ("lesson".equalsIgnoreCase(type)) {
+                        lessons.add(toLessonParameters(row, state));
+                    } else {
+                        throw new IllegalArgumentException("Unknown row type: " + type);
+                    }
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Row " + rowNumber + ": " + e.getMessage(), e);
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+            if (!lessons.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_LESSON, lessons);
+            }
+            return new int[] {courses, lessons.size()};
+        });
+        state.courses += written[0];
+        state.lessons += written[1];
+    }
+
+    // Same rules as editing a course through the admin pages
+    private Courses toCourse(Map<String, String> row) {
+        Courses course = new Courses();
+        String name = value(row, "name");
+        if (name == null) {
+            throw new IllegalArgumentException("Course name is required");
+        }
+        course.setName(name);
+        course.setDescription(value(row, "description"));
+        course.setCategory(entityManager.getReference(Categories.class, requiredInt(row, "category_id")));
+        course.setUser(entityManager.getReference(Users.class, requiredInt(row, "instructor_id")));
+        if (value(row, "skill_level") == null) {
+            throw new IllegalArgumentException("skill_level is required");
+        }
+        course.setSkillLevel(value(row, "skill_level"));
+        course.setStatus(value(row, "status") == null ? "draft" : value(row, "status"));
+        course.setImage(value(row, "image"));
+        if (value(row, "duration") != null) {
+            course.setDuration(requiredInt(row, "duration"));
+        }
+        return course;
+    }
+
+    private Object[] toLessonParameters(Map<String, String> row, ImportState state) {
+        Integer courseId;
+        String ref = value(row, "course_ref");
+        if (ref != null) {
+            courseId = state.courseIdsByRef.get(ref);
+            if (courseId == null) {
+                throw new IllegalArgumentException("Unknown course_ref: " + ref);
+            }
+        } else {
+            courseId = requiredInt(row, "course_id");
+        }
+        String title = value(row, "title");
+        if (title == null) {
+            throw new IllegalArgumentException("Lesson title is required");
+        }
+        int duration = value(row, "duration") == null ? 0 : requiredInt(row, "duration");
+        if (duration < 0) {
+            throw new IllegalArgumentException("Invalid duration: " + duration);
+        }
+        state.touchedCourseIds.add(courseId);
+        return new Object[] {courseId, title, value(row, "description"), value(row, "video_url"), duration};
+    }
+
+    // Recomputes the durations of every course that got lessons and drops their cached copies
+    private void finish(ImportState state) {
+        for (List<Integer> batch : IdBatches.of(state.touchedCourseIds)) {
+            transactionTemplate.executeWithoutResult(status -> courseRepository.recomputeDurations(batch));
+        }
+        Cache courses = cacheManager.getCache(CacheConfig.COURSES);
+        Cache lessons = cacheManager.getCache(CacheConfig.LESSONS);
+        for (Integer id : state.touchedCourseIds) {
+            if (courses != null) {
+                courses.evict(id);
+            }
+            if (lessons != null) {
+                lessons.evict(id);
+            }
+        }
+        if (state.courses > 0 || state.lessons > 0) {
+            eventPublisher.publishEvent(new CatalogChangedEvent("course"));
+        }
+    }
+
+    static String value(Map<String, String> row, String key) {
+        String value = row.get(key);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    static int requiredInt(Map<String, String> row, String key) {
+        String value = value(row, key);
+        if (value == null) {
+            throw new IllegalArgumentException(key + " is required");
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + key + ": " + value);
+        }
+    }
+
+    private static class ImportState {
+        private int rowNumber;
+        private int chunkSize;
+        private int courses;
+        private int lessons;
+        private final Map<String, Integer> courseIdsByRef = new HashMap<>();
+        private final Set<Integer> touchedCourseIds = new LinkedHashSet<>();
+    }
+
+    interface RowSource {
+        // The next row by column name, or null at the end of the input
+        Map<String, String> next() throws IOException;
+    }
+
+    private static class JsonRowSource implements RowSource {
+        private final MappingIterator<JsonNode> nodes;
+
+        JsonRowSource(Reader reader) throws IOException {
+            this.nodes = new ObjectMapper().readerFor(JsonNode.class).readValues(reader);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            if (!nodes.hasNextValue()) {
+                return null;
+            }
+            JsonNode node = nodes.nextValue();
+            Map<String, String> row = new HashMap<>();
+            node.fields().forEachRemaining(field ->
+                row.put(field.getKey().toLowerCase(Locale.ROOT), field.getValue().isNull() ? null : field.getValue().asText()));
+            return row;
+        }
+    }
+
+    /**
+     * RFC 4180 reader: fields may be quoted, and quoted fields may hold
+     * commas, doubled quotes and line breaks. Blank lines are skipped.
+     * A quoted field still open at the end of the file is rejected.
+     */
+    static class CsvRowSource implements RowSource {
+        private final Reader reader;
+        private List<String> header;
+        private int lookahead = -2;
+        private int line = 1;
+
+        CsvRowSource(Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            if (header == null) {
+                header = readRecord();
+                if (header == null) {
+                    return null;
+                }
+                header.replaceAll(name -> name.trim().toLowerCase(Locale.ROOT));
+            }
+            List<String> fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                row.put(header.get(i), fields.get(i));
+            }
+            return row;
+        }
+
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int quoteLine = 0;
+            boolean any = false;
+            int c;
+            while ((c = read()) != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            read();
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    quoteLine = line;
+                    any = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    any = true;
+                } else if (c == '\r' || c == '\n') {
+                    if (c == '\r' && peek() == '\n') {
+                        read();
+                    }
+                    if (any || field.length() > 0) {
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                } else {
+                    field.append((char) c);
+                    any = true;
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Line " + quoteLine + ": quoted field is not closed");
+            }
+            if (any || field.length() > 0) {
+                fields.add(field.toString());
+                return fields;
+            }
+            return null;
+        }
+
+        private int read() throws IOException {
+            int c;
+            if (lookahead != -2) {
+                c = lookahead;
+                lookahead = -2;
+            } else {
+                c = reader.read();
+            }
+            // A line break is \n, \r\n or a lone \r
+            if (c == '\n' || (c == '\r' && peek() != '\n')) {
+                line++;
+            }
+            return c;
+        }
+
+        private int peek() throws IOException {
+            if (lookahead == -2) {
+                lookahead = reader.read();
+            }
+            return lookahead;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.course_management_system.services;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.course_management_system.models.CourseSearchResult;
+import com.example.course_management_system.models.CourseSuggestion;
+import com.example.course_management_system.models.Courses;
+import com.example.course_management_system.repositories.CourseRepository;
+
+/**
+ * Ranked course search and autocomplete from an in-memory inverted index
+ * over course names, descriptions, categories and instructor names, so a
+ * search never queries the database. The index is built on startup and
+ * updated in place when a single course is saved or deleted. Bulk imports
+ * and user changes can touch many courses at once and mark the index stale
+ * instead; a background job then rebuilds it.
+ */
+@Service
+public class CourseSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseSearchService.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int INSTRUCTOR_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // A word that only starts with the typed prefix ranks below an exact match
+    private static final double PREFIX_FACTOR = 0.5;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Readers of the index against the in-place updates of single courses
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BackgroundRebuild<Index> index = new BackgroundRebuild<>("Course search index", null, this::build);
+
+    private CourseRepository courseRepository;
+    private TransactionTemplate primaryTransaction;
+
+    public CourseSearchService(CourseRepository courseRepository, PlatformTransactionManager transactionManager) {
+        this.courseRepository = courseRepository;
+        // A read-write transaction reads from the primary, so the index never keeps a replica's stale copy
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Courses matching every word of {@code query}, best first; the last
+     * word also matches as a prefix. {@code page} counts from zero.
+     */
+    public CourseSearchResult search(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new CourseSearchResult(List.of(), 0, pageNumber, pageSize);
+        }
+        boolean prefix = Character.isLetterOrDigit(query.charAt(query.length() - 1));
+
+        Index current = index.get();
+        lock.readLock().lock();
+        try {
+            List<Map.Entry<Integer, Double>> hits = new ArrayList<>(current.match(terms, prefix).entrySet());
+            hits.sort(Map.Entry.<Integer, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+            List<Courses> courses = new ArrayList<>();
+            int from = (int) Math.min((long) pageNumber * pageSize, hits.size());
+            int to = Math.min(from + pageSize, hits.size());
+            for (Map.Entry<Integer, Double> hit : hits.subList(from, to)) {
+                courses.add(current.courses.get(hit.getKey()));
+            }
+            return new CourseSearchResult(courses, hits.size(), pageNumber, pageSize);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best matches for what has been typed so far in the search box
+    public List<CourseSuggestion> suggest(String prefix, int limit) {
+        List<CourseSuggestion> suggestions = new ArrayList<>();
+        for (Courses course : search(prefix, 0, Math.max(1, Math.min(limit, MAX_SUGGESTIONS))).getCourses()) {
+            suggestions.add(new CourseSuggestion(course.getCourseId(), course.getName()));
+        }
+        return suggestions;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event instanceof CourseChangedEvent) {
+            CourseChangedEvent changed = (CourseChangedEvent) event;
+            if (changed.isDeleted()) {
+                remove(changed.getCourseId());
+            } else {
+                primaryTransaction.execute(status -> courseRepository.findById(changed.getCourseId()))
+                    .ifPresentOrElse(this::update, () -> remove(changed.getCourseId()));
+            }
+        } else if ("course".equals(event.getSource()) || "user".equals(event.getSource())) {
+            index.markStale();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.check-interval:PT5S}", initialDelayString = "${search.index.check-interval:PT5S}")
+    public void rebuildIfStale() {
+        index.rebuildIfNeeded();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.rebuild();
+    }
+
+    private Index build() {
+        long start = System.nanoTime();
+        Index built = new Index();
+        for (Courses course : courseRepository.findAll()) {
+            built.add(course);
+        }
+        logger.info("Indexed {} courses ({} terms) in {} ms", built.courses.size(), built.postings.size(),
+            (System.nanoTime() - start) / 1_000_000);
+        return built;
+    }
+
+    private void update(Courses course) {
+        index.update(current -> {
+            lock.writeLock().lock();
+            try {
+                current.remove(course.getCourseId());
+                current.add(course);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void remove(int courseId) {
+        index.update(current -> {
+            lock.writeLock().lock();
+            try {
+                current.remove(courseId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Lower-cased words with accents removed, so "Đồ họa" finds "do hoa"
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+            .replace('đ', 'd').replace('Đ', 'D').toLowerCase(Locale.ROOT);
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static class Index {
+
+        final Map<Integer, Courses> courses = new HashMap<>();
+        // Weighted term frequency of every word, by course
+        final Map<Integer, Map<String, Integer>> termsByCourse = new HashMap<>();
+        // Sorted so a prefix is a range of the dictionary
+        final TreeMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+
+        void add(Courses course) {
+            Map<String, Integer> terms = new HashMap<>();
+            addField(terms, course.getName(), NAME_WEIGHT);
+            addField(terms, course.getDescription(), DESCRIPTION_WEIGHT);
+            if (course.getCategory() != null) {
+                addField(terms, course.getCategory().getName(), CATEGORY_WEIGHT);
+            }
+            if (course.getUser() != null) {
+                addField(terms, course.getUser().getFirstname() + " " + course.getUser().getLastname(), INSTRUCTOR_WEIGHT);
+            }
+            courses.put(course.getCourseId(), course);
+            termsByCourse.put(course.getCourseId(), terms);
+            for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), key -> new HashMap<>()).put(course.getCourseId(), term.getValue());
+            }
+        }
+
+        void remove(int courseId) {
+            courses.remove(courseId);
+            Map<String, Integer> terms = termsByCourse.remove(courseId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms.keySet()) {
+                Map<Integer, Integer> posting = postings.get(term);
+                posting.remove(courseId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        // Score of every course containing all the terms
+        Map<Integer, Double> match(List<String> terms, boolean prefix) {
+            Map<Integer, Double> scores = null;
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                Map<Integer, Double> termScores = new HashMap<>();
+                if (prefix && i == terms.size() - 1) {
+                    for (Map.Entry<String, Map<Integer, Integer>> posting : postings.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+                        addScores(termScores, posting.getValue(), PREFIX_FACTOR);
+                    }
+                }
+                Map<Integer, Integer> exact = postings.get(term);
+                if (exact != null) {
+                    addScores(termScores, exact, 1.0);
+                }
+
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Integer, Double> both = new HashMap<>();
+                    for (Map.Entry<Integer, Double> score : scores.entrySet()) {
+                        Double termScore = termScores.get(score.getKey());
+                        if (termScore != null) {
+                            both.put(score.getKey(), score.getValue() + termScore);
+                        }
+                    }
+                    scores = both;
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            return scores;
+        }
+
+        // tf-idf, with the term frequency damped so long descriptions do not dominate
+        private void addScores(Map<Integer, Double> scores, Map<Integer, Integer> posting, double factor) {
+            double idf = Math.log(1 + (double) courses.size() / posting.size());
+            for (Map.Entry<Integer, Integer> entry : posting.entrySet()) {
+                scores.merge(entry.getKey(), Math.sqrt(entry.getValue()) * idf * factor, Math::max);
+            }
+        }
+
+        private static void addField(Map<String, Integer> terms, String text, int weight) {
+            for (String token : tokenize(text)) {
+                terms.merge(token, weight, Integer::sum);
+            }
+        }
+    }
+}
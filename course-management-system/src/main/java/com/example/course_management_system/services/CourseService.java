@@ -1,45 +1,143 @@
 package com.example.course_management_system.services;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.course_management_system.config.CacheConfig;
 import com.example.course_management_system.models.Categories;
+import com.example.course_management_system.models.CourseCursor;
+import com.example.course_management_system.models.CourseFilter;
+import com.example.course_management_system.models.CoursePage;
+import com.example.course_management_system.models.CourseSort;
 import com.example.course_management_system.models.Courses;
+import com.example.course_management_system.models.GroupCount;
 import com.example.course_management_system.repositories.CourseRepository;
 
 @Service
 public class CourseService {
+
+    public static final int MAX_PAGE_SIZE = 100;
     
     @Autowired
     private CourseRepository courseRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
-    public CourseService (CourseRepository courseRepository) {
+    public CourseService (CourseRepository courseRepository, ApplicationEventPublisher eventPublisher) {
         this.courseRepository = courseRepository;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<Courses> getAllCourses() {
         return courseRepository.findAll();
     }
 
+    /**
+     * Keyset-paged catalog: the page after the course identified by
+     * {@code afterToken}, at most {@link #MAX_PAGE_SIZE} courses long.
+     */
+    @Transactional(readOnly = true)
+    public CoursePage getCoursePage(CourseFilter filter, CourseSort sort, String afterToken, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        CourseCursor after = CourseCursor.decode(afterToken, sort);
+
+        // One extra row tells whether another page follows
+        List<Object[]> rows = courseRepository.findPage(filter, sort, after, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        List<Courses> courses = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            courses.add((Courses) row[0]);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            Object[] last = rows.get(rows.size() - 1);
+            Courses lastCourse = (Courses) last[0];
+            nextCursor = new CourseCursor(sort, lastCourse.getCourseId(), lastCourse.getCreateAt(), ((Number) last[1]).doubleValue()).encode();
+        }
+        return new CoursePage(courses, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
     public List<Courses> getAllCourseByCategory(Categories category) {
         return courseRepository.findByCategory(category);
     }
 
-    public Optional<Courses> getCourseById(int coureId) {
-        return courseRepository.findById(coureId);
+    // Number of courses of every category, by category id; categories without courses are absent
+    @Transactional(readOnly = true)
+    public Map<Integer, Integer> getCourseCountsByCategory() {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (GroupCount count : courseRepository.countByCategory()) {
+            counts.put(count.getGroupId(), (int) count.getTotal());
+        }
+        return counts;
+    }
+
+    // The cached instance is shared by every request: read it, never modify it
+    @Cacheable(cacheNames = CacheConfig.COURSES, key = "#courseId")
+    @Transactional(readOnly = true)
+    public Optional<Courses> getCourseById(int courseId) {
+        return courseRepository.findById(courseId);
     }
 
+    // A private, uncached copy from the primary, for a caller that changes it and passes it to saveCourse
+    @Transactional
+    public Optional<Courses> getCourseForUpdate(int courseId) {
+        return courseRepository.findById(courseId);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#course.courseId")
     public void saveCourse(Courses course) {
-        courseRepository.save(course);
+        Courses saved = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(saved.getCourseId(), false));
     }
 
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#courseId"),
+        @CacheEvict(cacheNames = CacheConfig.LESSONS, key = "#courseId")
+    })
     public void deleteCourseById(int courseId) {
         courseRepository.deleteById(courseId);
+        eventPublisher.publishEvent(new CourseChangedEvent(courseId, true));
+    }
+
+    // Courses in the order of the ids, which carries a ranking; missing ids are skipped
+    @Transactional(readOnly = true)
+    public List<Courses> getCoursesInOrder(List<Integer> courseIds) {
+        if (courseIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, Courses> byId = new HashMap<>();
+        for (Courses course : courseRepository.findAllById(courseIds)) {
+            byId.put(course.getCourseId(), course);
+        }
+        List<Courses> courses = new ArrayList<>();
+        for (Integer courseId : courseIds) {
+            if (byId.containsKey(courseId)) {
+                courses.add(byId.get(courseId));
+            }
+        }
+        return courses;
     }
 
+    @Transactional(readOnly = true)
     public List<Courses> getCourseByInstructor(int userId) {
         return courseRepository.findByUser_UserId(userId);
     }
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -14,7 +15,7 @@ import com.example.course_management_system.models.CustomUserDetails;
 import com.example.course_management_system.models.Users;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserService userService;
@@ -28,6 +29,15 @@ public class CustomUserDetailsService implements UserDetailsService {
         }
 
         GrantedAuthority authority = new SimpleGrantedAuthority(user.getRole());
-        return new CustomUserDetails(user, Collections.singleton(authority));
+        return new CustomUserDetails(user, Collections.singleton(authority), user.getVersion());
+    }
+
+    // Called after a successful login whose stored password is plaintext or hashed with an outdated cost
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userService.updatePassword(userDetails.getUsername(), newPassword);
+        Users user = ((CustomUserDetails) userDetails).getUser();
+        user.setPassword(newPassword);
+        return userDetails;
     }
 }
@@ -1,13 +1,18 @@
 package com.example.course_management_system.services;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.course_management_system.models.Enrollments;
+import com.example.course_management_system.models.GroupCount;
 import com.example.course_management_system.repositories.EnrollmentRepository;
 
 @Service
@@ -19,18 +24,37 @@ public class EnrollmentService {
         this.enrollmentRepository = enrollmentRepository;
     }
 
+    @Transactional(readOnly = true)
     public List<Enrollments> getAllEnrollments() {
         return enrollmentRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<Enrollments> getEnrollmentsByCourseId(int courseId) {
         return enrollmentRepository.findByCourse_CourseId(courseId);
     }
 
+    @Transactional(readOnly = true)
     public List<Enrollments> getEnrollmentsByUserId(@Param("userId") int userId) {
         return enrollmentRepository.findByUser_UserId(userId);
     }
 
+    // Number of enrolled students per course, 0 for courses nobody took; one grouped query per IdBatches.SIZE ids
+    @Transactional(readOnly = true)
+    public Map<Integer, Integer> getEnrollmentCounts(Collection<Integer> courseIds) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (Integer courseId : courseIds) {
+            counts.put(courseId, 0);
+        }
+        for (List<Integer> batch : IdBatches.of(courseIds)) {
+            for (GroupCount count : enrollmentRepository.countByCourseIds(batch)) {
+                counts.put(count.getGroupId(), (int) count.getTotal());
+            }
+        }
+        return counts;
+    }
+
+    @Transactional(readOnly = true)
     public List<Enrollments> getEnrollmentsByUserIdWithStatus(@Param("userId") int userId, @Param("status") String status) {
         return enrollmentRepository.findByUser_UserIdAndStatus(userId, status);
     }
@@ -0,0 +1,29 @@
+package com.example.course_management_system.services;
+
+/**
+ * A {@link CatalogChangedEvent} for newly written enrollments that are not
+ * dropped, as parallel arrays of student and course ids.
+ */
+public class EnrollmentsAddedEvent extends CatalogChangedEvent {
+
+    private final int[] userIds;
+    private final int[] courseIds;
+
+    public EnrollmentsAddedEvent(int[] userIds, int[] courseIds) {
+        super("enrollment");
+        this.userIds = userIds;
+        this.courseIds = courseIds;
+    }
+
+    public int size() {
+        return userIds.length;
+    }
+
+    public int getUserId(int index) {
+        return userIds[index];
+    }
+
+    public int getCourseId(int index) {
+        return courseIds[index];
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.course_management_system.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.course_management_system.models.Categories;
+import com.example.course_management_system.models.CourseFilter;
+import com.example.course_management_system.models.CourseRatingStats;
+import com.example.course_management_system.models.CourseSort;
+import com.example.course_management_system.models.Courses;
+import com.example.course_management_system.models.HomePageSnapshot;
+import com.example.course_management_system.repositories.CourseRatingStatsRepository;
+import com.example.course_management_system.repositories.ReviewRepository;
+
+/**
+ * Serves the home page from a precomputed {@link HomePageSnapshot}. The
+ * snapshot is rebuilt on a background schedule when a write has marked it
+ * stale or when it reaches its maximum age, and swapped in atomically, so a
+ * request only ever reads memory.
+ */
+@Service
+public class HomePageSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HomePageSnapshotService.class);
+
+    private static final int TOP_COURSES = 8;
+    private static final int TOP_STUDENTS = 3;
+
+    private final BackgroundRebuild<HomePageSnapshot> snapshot;
+
+    private CourseService courseService;
+    private CategoryService categoryService;
+    private ReviewService reviewService;
+    private UserService userService;
+    private ReviewRepository reviewRepository;
+    private CourseRatingStatsRepository ratingStatsRepository;
+
+    public HomePageSnapshotService(CourseService courseService, CategoryService categoryService, ReviewService reviewService, UserService userService, ReviewRepository reviewRepository, CourseRatingStatsRepository ratingStatsRepository,
+            @Value("${home.snapshot.max-age:PT5M}") Duration maxAge) {
+        this.courseService = courseService;
+        this.categoryService = categoryService;
+        this.reviewService = reviewService;
+        this.userService = userService;
+        this.reviewRepository = reviewRepository;
+        this.ratingStatsRepository = ratingStatsRepository;
+        this.snapshot = new BackgroundRebuild<>("Home page snapshot", maxAge, this::build);
+    }
+
+    public HomePageSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        snapshot.markStale();
+    }
+
+    @Scheduled(fixedDelayString = "${home.snapshot.check-interval:PT5S}", initialDelayString = "${home.snapshot.check-interval:PT5S}")
+    public void refreshIfNeeded() {
+        snapshot.rebuildIfNeeded();
+    }
+
+    public HomePageSnapshot refresh() {
+        return snapshot.rebuild();
+    }
+
+    private HomePageSnapshot build() {
+        List<Courses> topRatedCourses = courseService.getCoursePage(new CourseFilter(), CourseSort.RATING, null, TOP_COURSES).getCourses();
+        Map<Integer, CourseRatingStats> ratingStats = reviewService.getRatingStats(
+            topRatedCourses.stream().map(Courses::getCourseId).collect(Collectors.toList()));
+
+        Map<Integer, Double> courseRatings = new HashMap<>();
+        Map<Integer, Integer> courseReviewCounts = new HashMap<>();
+        List<Courses> shownCourses = new ArrayList<>();
+
+        for (Courses course : topRatedCourses) {
+            CourseRatingStats stats = ratingStats.get(course.getCourseId());
+            if (stats.getAverageRating() <= 3.0) {
+                continue;
+            }
+            courseRatings.put(course.getCourseId(), stats.getAverageRating());
+            courseReviewCounts.put(course.getCourseId(), (int) stats.getReviewCount());
+            course.setAverageRating(stats.getAverageRating());
+            course.setReviewCount((int) stats.getReviewCount());
+            shownCourses.add(course);
+        }
+
+        List<Categories> categories = categoryService.getAllCategories();
+        Map<Integer, Integer> categoryCourseCounts = courseService.getCourseCountsByCategory();
+
+        long totalReviews = ratingStatsRepository.sumReviewCounts();
+        double averageRating = totalReviews > 0 ? (double) ratingStatsRepository.sumRatings() / totalReviews : 0.0;
+
+        return new HomePageSnapshot(
+            categories,
+            categoryCourseCounts,
+            shownCourses,
+            courseRatings,
+            courseReviewCounts,
+            reviewRepository.findTop2ByOrderByRatingDescReviewIdAsc(),
+            averageRating,
+            totalReviews,
+            userService.getTopStudents(TOP_STUDENTS));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.course_management_system.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Splits ids for IN queries. SQL Server caps a statement at 2100
+ * parameters, so no query here binds more than {@value #SIZE} ids.
+ */
+final class IdBatches {
+
+    static final int SIZE = 1000;
+
+    private IdBatches() {
+    }
+
+    // Consecutive batches of at most SIZE ids, in order, without duplicates
+    static List<List<Integer>> of(Collection<Integer> ids) {
+        List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<Integer>> batches = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += SIZE) {
+            batches.add(distinct.subList(from, Math.min(from + SIZE, distinct.size())));
+        }
+        return batches;
+    }
+}
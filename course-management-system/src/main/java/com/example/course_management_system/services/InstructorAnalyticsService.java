@@ -0,0 +1,84 @@
+package com.example.course_management_system.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.course_management_system.models.GroupCount;
+import com.example.course_management_system.models.InstructorCourseTotals;
+import com.example.course_management_system.models.InstructorPage;
+import com.example.course_management_system.models.InstructorStats;
+import com.example.course_management_system.models.Users;
+import com.example.course_management_system.repositories.CourseRepository;
+import com.example.course_management_system.repositories.EnrollmentRepository;
+import com.example.course_management_system.repositories.UsersRepository;
+
+/**
+ * Course, student and review totals of instructors for the admin pages.
+ * A page costs three queries whatever the number of instructors and
+ * courses: the roster with specializations, then one grouped query each
+ * for course/review totals and for enrollments.
+ */
+@Service
+public class InstructorAnalyticsService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private UsersRepository usersRepository;
+    private CourseRepository courseRepository;
+    private EnrollmentRepository enrollmentRepository;
+
+    public InstructorAnalyticsService(UsersRepository usersRepository, CourseRepository courseRepository, EnrollmentRepository enrollmentRepository) {
+        this.usersRepository = usersRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
+    public long countInstructors() {
+        return usersRepository.countByRole("instructor");
+    }
+
+    // Instructors after the user id {@code afterId} (null for the first page), in id order
+    @Transactional(readOnly = true)
+    public InstructorPage getInstructorPage(Integer afterId, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Object[]> rows = usersRepository.findInstructorsAfter(afterId == null ? 0 : afterId, PageRequest.of(0, limit + 1));
+        boolean hasNext = rows.size() > limit;
+        if (hasNext) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<Integer> userIds = new ArrayList<>();
+        for (Object[] row : rows) {
+            userIds.add(((Users) row[0]).getUserId());
+        }
+        Map<Integer, InstructorCourseTotals> totals = new HashMap<>();
+        Map<Integer, Integer> students = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            for (InstructorCourseTotals total : courseRepository.findInstructorCourseTotals(userIds)) {
+                totals.put(total.getUserId(), total);
+            }
+            for (GroupCount count : enrollmentRepository.countByInstructorIds(userIds)) {
+                students.put(count.getGroupId(), (int) count.getTotal());
+            }
+        }
+
+        List<InstructorStats> instructors = new ArrayList<>();
+        for (Object[] row : rows) {
+            Users user = (Users) row[0];
+            InstructorCourseTotals total = totals.get(user.getUserId());
+            instructors.add(new InstructorStats(user, (String) row[1],
+                total == null ? 0 : (int) total.getCourseCount(),
+                students.getOrDefault(user.getUserId(), 0),
+                total == null ? 0 : (int) total.getReviewCount(),
+                total == null ? 0 : total.getRatingSum()));
+        }
+        Integer nextCursor = hasNext ? userIds.get(userIds.size() - 1) : null;
+        return new InstructorPage(instructors, nextCursor);
+    }
+}
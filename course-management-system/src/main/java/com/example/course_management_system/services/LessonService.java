@@ -3,39 +3,161 @@ package com.example.course_management_system.services;
 import java.util.List;
 import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.course_management_system.config.CacheConfig;
 import com.example.course_management_system.models.Lessons;
+import com.example.course_management_system.repositories.CourseRepository;
 import com.example.course_management_system.repositories.LessonRepository;
 
+/**
+ * Lessons and the course duration derived from them. A course's duration is
+ * the total of its lessons' durations, kept by one atomic UPDATE in the same
+ * transaction as every lesson write, and {@link #reconcileDurations()}
+ * repairs any drift on a schedule.
+ */
 @Service
 public class LessonService {
+    private static final Logger logger = LoggerFactory.getLogger(LessonService.class);
+
     @Autowired
     private LessonRepository lessonRepository;
 
-    public LessonService (LessonRepository lessonRepository) {
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private TransactionTemplate transactionTemplate;
+
+    public LessonService (LessonRepository lessonRepository, CourseRepository courseRepository, CacheManager cacheManager, ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
         this.lessonRepository = lessonRepository;
+        this.courseRepository = courseRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    @Cacheable(cacheNames = CacheConfig.LESSONS, key = "#courseId")
+    @Transactional(readOnly = true)
     public List<Lessons> getAllLessonsOfCourse(int courseId) {
         return lessonRepository.findByCourse_CourseId(courseId);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Lessons> getLessonById(int lessonId) {
         return lessonRepository.findById(lessonId);
     }
 
+    // Adds a new lesson to its course and recounts the course's duration
+    @Transactional
     public void saveLesson(Lessons lesson) {
+        int courseId = lesson.getCourse().getCourseId();
         lessonRepository.save(lesson);
+        // Until a course has lessons its duration is whatever the admin entered, so the first
+        // lesson replaces it; the UPDATE locks the course row, and a concurrent add waits and counts both
+        courseRepository.recomputeDurations(List.of(courseId));
+        courseChanged(courseId);
     }
 
-    public int getTotalDurationByCourseId(int courseId) {
-        List<Lessons> lessons = lessonRepository.findByCourse_CourseId(courseId);
-        return lessons.stream().mapToInt(Lessons::getDuration).sum();
+    // Copies the editable fields of {@code changes} onto the lesson; empty when it does not exist
+    @Transactional
+    public Optional<Lessons> updateLesson(int lessonId, Lessons changes) {
+        Optional<Lessons> existing = lessonRepository.findById(lessonId);
+        if (existing.isPresent()) {
+            Lessons lesson = existing.get();
+            int delta = changes.getDuration() - lesson.getDuration();
+            lesson.setTitle(changes.getTitle());
+            lesson.setDescription(changes.getDescription());
+            lesson.setVideoUrl(changes.getVideoUrl());
+            lesson.setDuration(changes.getDuration());
+            lessonRepository.save(lesson);
+            int courseId = lesson.getCourse().getCourseId();
+            if (delta != 0) {
+                courseRepository.addDuration(courseId, delta);
+            }
+            courseChanged(courseId);
+        }
+        return existing;
     }
 
+    @Transactional
     public void deleteLesson(int lessonId) {
-        lessonRepository.deleteById(lessonId);
+        Optional<Lessons> existing = lessonRepository.findById(lessonId);
+        if (existing.isPresent()) {
+            Lessons lesson = existing.get();
+            int courseId = lesson.getCourse().getCourseId();
+            lessonRepository.delete(lesson);
+            courseRepository.addDuration(courseId, -lesson.getDuration());
+            courseChanged(courseId);
+        }
+    }
+
+    /**
+     * Walks all courses in id order, {@value IdBatches#SIZE} per transaction,
+     * and resets the duration of every course with lessons whose stored
+     * duration differs from their total. Returns the number of courses fixed.
+     */
+    @Scheduled(cron = "${course.duration.reconcile-cron:0 0 3 * * *}")
+    public int reconcileDurations() {
+        int repaired = 0;
+        int afterId = 0;
+        while (true) {
+            List<Integer> ids = courseRepository.findIdsAfter(afterId, PageRequest.of(0, IdBatches.SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Integer> drifted = transactionTemplate.execute(status -> {
+                List<Integer> found = courseRepository.findDurationDrift(ids);
+                if (!found.isEmpty()) {
+                    courseRepository.recomputeDurations(found);
+                }
+                return found;
+            });
+            for (Integer courseId : drifted) {
+                evict(courseId);
+            }
+            repaired += drifted.size();
+            afterId = ids.get(ids.size() - 1);
+        }
+        if (repaired > 0) {
+            logger.warn("Repaired the duration of {} courses", repaired);
+            eventPublisher.publishEvent(new CatalogChangedEvent("lesson"));
+        }
+        return repaired;
+    }
+
+    private void courseChanged(int courseId) {
+        evict(courseId);
+        eventPublisher.publishEvent(new CatalogChangedEvent("lesson"));
+    }
+
+    // Both the lesson list and the course (for its duration) are cached by course id;
+    // inside a transaction the caches only drop them once it commits
+    private void evict(int courseId) {
+        Cache lessons = cacheManager.getCache(CacheConfig.LESSONS);
+        if (lessons != null) {
+            lessons.evict(courseId);
+        }
+        Cache courses = cacheManager.getCache(CacheConfig.COURSES);
+        if (courses != null) {
+            courses.evict(courseId);
+        }
     }
 }
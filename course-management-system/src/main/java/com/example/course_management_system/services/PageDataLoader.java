@@ -0,0 +1,167 @@
+package com.example.course_management_system.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Loads the independent parts of a page at the same time, each on its own
+ * virtual thread and in its own read-only transaction, so the page waits
+ * for its slowest query rather than for all of them in turn. Tasks of all
+ * pages together hold at most {@code page.load-concurrency} connections
+ * (by default the primary pool's size), so a burst of pages waits for a
+ * turn instead of draining the pool.
+ *
+ * <pre>
+ * try (PageDataLoader.PageLoad load = pageDataLoader.begin()) {
+ *     Supplier&lt;Optional&lt;Courses&gt;&gt; course = load.fork(() -&gt; courseService.getCourseById(courseId));
+ *     Supplier&lt;List&lt;Lessons&gt;&gt; lessons = load.fork(() -&gt; lessonService.getAllLessonsOfCourse(courseId));
+ *     load.join();
+ *     ...
+ * }
+ * </pre>
+ *
+ * Tasks run outside the request thread, so they must not read the security
+ * context or other request state, and the entities they return are detached:
+ * whatever the view renders has to be fetched by the query itself.
+ */
+@Service
+public class PageDataLoader {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private PlatformTransactionManager transactionManager;
+
+    // For all the loads of one page together
+    @Value("${page.load-timeout:PT5S}")
+    private Duration timeout;
+
+    @Value("${page.load-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int concurrency;
+
+    private Semaphore permits;
+
+    public PageDataLoader(PlatformTransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("page.load-concurrency must be positive");
+        }
+        permits = new Semaphore(concurrency);
+    }
+
+    public PageLoad begin() {
+        return new PageLoad(System.nanoTime() + timeout.toNanos());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The loads of one page. Fork every task, then {@link #join()} before
+     * reading any result; closing interrupts whatever is still running. A
+     * query already sent to the database is cancelled there at the deadline,
+     * through the transaction timeout.
+     */
+    public class PageLoad implements AutoCloseable {
+
+        private final long deadline;
+        private final List<Future<?>> tasks = new ArrayList<>();
+        // Completed by each task as it finishes, for join to wait on
+        private final List<CompletableFuture<?>> results = new ArrayList<>();
+        // Completed by the first task to fail, so join does not wait for the others
+        private final CompletableFuture<Void> failed = new CompletableFuture<>();
+
+        private PageLoad(long deadline) {
+            this.deadline = deadline;
+        }
+
+        // The returned supplier gives the task's result once join has returned
+        public <T> Supplier<T> fork(Supplier<T> task) {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            // The database cancels a query still running at the deadline, which frees its connection
+            transactionTemplate.setTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(deadline - System.nanoTime() + 999_999_999L)));
+
+            CompletableFuture<T> result = new CompletableFuture<>();
+            // Submitted to the executor itself, as cancelling a CompletableFuture does not interrupt its thread
+            tasks.add(executor.submit(() -> {
+                try {
+                    result.complete(load(transactionTemplate, task));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                    failed.completeExceptionally(e);
+                }
+            }));
+            results.add(result);
+            return result::resultNow;
+        }
+
+        private <T> T load(TransactionTemplate transactionTemplate, Supplier<T> task) throws InterruptedException {
+            if (!permits.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                throw new IllegalStateException("No connection for page data within " + timeout.toMillis() + " ms");
+            }
+            try {
+                return transactionTemplate.execute(status -> task.get());
+            } finally {
+                permits.release();
+            }
+        }
+
+        // Waits until every task has finished, and throws the first failure or a timeout
+        public void join() {
+            CompletableFuture<Void> all = CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]));
+            try {
+                CompletableFuture.anyOf(all, failed).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                close();
+                throw new IllegalStateException("Page data did not load within " + timeout.toMillis() + " ms", e);
+            } catch (InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading page data", e);
+            } catch (ExecutionException e) {
+                close();
+                Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("Page data failed to load", cause);
+            }
+        }
+
+        @Override
+        public void close() {
+            for (Future<?> task : tasks) {
+                task.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.course_management_system.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.course_management_system.models.CoEnrolledCourse;
+import com.example.course_management_system.models.CourseRatingStats;
+import com.example.course_management_system.models.Courses;
+import com.example.course_management_system.models.RelatedCourses;
+import com.example.course_management_system.repositories.CourseRatingStatsRepository;
+import com.example.course_management_system.repositories.CourseRepository;
+
+/**
+ * Recommendations for the course detail page, precomputed in the background.
+ * Each course gets a short ranked list of course ids, scored on category,
+ * skill level proximity, students enrolled in both courses (from the
+ * {@link CoEnrollmentGraph}) and rating; a page view then costs one map
+ * lookup and no queries. Built on startup, and again in the background
+ * after a write that can change a ranking.
+ */
+@Service
+public class RelatedCourseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatedCourseService.class);
+
+    public static final int RECOMMENDATIONS = 4;
+
+    // A few spares per course, so a course deleted since the last build can be skipped
+    private static final int STORED_PER_COURSE = RECOMMENDATIONS + 2;
+
+    // Candidates per course: the best rated of its category at each skill level, and the most co-enrolled
+    private static final int CANDIDATES_PER_LEVEL = 50;
+    private static final int CO_ENROLLED_CANDIDATES = 50;
+
+    private static final double CATEGORY_WEIGHT = 1.0;
+    private static final double LEVEL_WEIGHT = 0.5;
+    private static final double CO_ENROLLMENT_WEIGHT = 2.0;
+    private static final double RATING_WEIGHT = 0.5;
+
+    // Reviews a course needs before its own average outweighs the site-wide prior
+    private static final int RATING_PRIOR_REVIEWS = 5;
+    private static final double RATING_PRIOR = 3.5;
+
+    private final BackgroundRebuild<Recommendations> recommendations;
+    // Deleted courses that may still be in the current recommendations, skipped when shown
+    private final Set<Integer> deleted = ConcurrentHashMap.newKeySet();
+    // Deleted before the current recommendations were built, so left out of them; only touched by a build
+    private Set<Integer> deletedBeforeBuild = Set.of();
+
+    private CourseRepository courseRepository;
+    private CourseRatingStatsRepository ratingStatsRepository;
+    private CoEnrollmentGraph coEnrollmentGraph;
+
+    public RelatedCourseService(CourseRepository courseRepository, CourseRatingStatsRepository ratingStatsRepository, CoEnrollmentGraph coEnrollmentGraph,
+            @Value("${related.max-age:PT1H}") Duration maxAge) {
+        this.courseRepository = courseRepository;
+        this.ratingStatsRepository = ratingStatsRepository;
+        this.coEnrollmentGraph = coEnrollmentGraph;
+        this.recommendations = new BackgroundRebuild<>("Related courses", maxAge, this::build);
+    }
+
+    public RelatedCourses getRelatedCourses(int courseId) {
+        Recommendations current = recommendations.get();
+        List<Courses> courses = new ArrayList<>(RECOMMENDATIONS);
+        Map<Integer, Double> courseRatings = new HashMap<>();
+        Map<Integer, Integer> courseReviewCounts = new HashMap<>();
+        for (int relatedId : current.related.getOrDefault(courseId, new int[0])) {
+            if (courses.size() == RECOMMENDATIONS) {
+                break;
+            }
+            if (deleted.contains(relatedId)) {
+                continue;
+            }
+            CourseRatingStats stats = current.ratings.get(relatedId);
+            courses.add(current.cards.get(relatedId));
+            courseRatings.put(relatedId, stats == null ? 0.0 : stats.getAverageRating());
+            courseReviewCounts.put(relatedId, stats == null ? 0 : (int) stats.getReviewCount());
+        }
+        return new RelatedCourses(courses, courseRatings, courseReviewCounts);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        // Lessons move nothing in a ranking; the durations on the cards catch up at the next build
+        if ("lesson".equals(event.getSource())) {
+            return;
+        }
+        if (event instanceof CourseChangedEvent && ((CourseChangedEvent) event).isDeleted()) {
+            deleted.add(((CourseChangedEvent) event).getCourseId());
+        }
+        recommendations.markStale();
+    }
+
+    @Scheduled(fixedDelayString = "${related.check-interval:PT1M}", initialDelayString = "${related.check-interval:PT1M}")
+    public void refreshIfNeeded() {
+        recommendations.rebuildIfNeeded();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        recommendations.rebuild();
+    }
+
+    private Recommendations build() {
+        // The current recommendations were built without these, so they need no filtering any more
+        deleted.removeAll(deletedBeforeBuild);
+        Set<Integer> deletedBefore = Set.copyOf(deleted);
+        long start = System.nanoTime();
+        Map<Integer, Courses> courses = new HashMap<>();
+        for (Courses course : courseRepository.findAll()) {
+            courses.put(course.getCourseId(), course);
+        }
+        Map<Integer, CourseRatingStats> ratings = new HashMap<>();
+        for (CourseRatingStats stats : ratingStatsRepository.findAll()) {
+            ratings.put(stats.getCourseId(), stats);
+        }
+        // Best rated courses of every category, by category id and skill level
+        Map<Integer, List<List<Courses>>> pools = new HashMap<>();
+        for (Courses course : courses.values()) {
+            pools.computeIfAbsent(categoryId(course), id -> new ArrayList<>(List.of(new ArrayList<Courses>(), new ArrayList<Courses>(), new ArrayList<Courses>())))
+                .get(level(course)).add(course);
+        }
+        for (List<List<Courses>> levels : pools.values()) {
+            for (int i = 0; i < levels.size(); i++) {
+                List<Courses> pool = new ArrayList<>(levels.get(i));
+                pool.sort((a, b) -> Double.compare(ratingScore(ratings.get(b.getCourseId())), ratingScore(ratings.get(a.getCourseId()))));
+                levels.set(i, pool.subList(0, Math.min(CANDIDATES_PER_LEVEL, pool.size())));
+            }
+        }
+
+        Map<Integer, int[]> related = new HashMap<>();
+        Map<Integer, Courses> cards = new HashMap<>();
+        Map<Integer, CourseRatingStats> cardRatings = new HashMap<>();
+        for (Courses course : courses.values()) {
+            int courseId = course.getCourseId();
+            Map<Integer, Double> scores = new HashMap<>();
+            for (List<Courses> pool : pools.get(categoryId(course))) {
+                for (Courses candidate : pool) {
+                    scores.put(candidate.getCourseId(), 0.0);
+                }
+            }
+            Map<Integer, Integer> coCounts = new HashMap<>();
+            for (CoEnrolledCourse coEnrolled : coEnrollmentGraph.alsoTook(courseId, CO_ENROLLED_CANDIDATES)) {
+                coCounts.put(coEnrolled.getCourseId(), coEnrolled.getStudents());
+                scores.put(coEnrolled.getCourseId(), 0.0);
+            }
+            scores.remove(courseId);
+
+            for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                Courses candidate = courses.get(entry.getKey());
+                if (candidate == null) {
+                    continue;
+                }
+                double score = RATING_WEIGHT * ratingScore(ratings.get(candidate.getCourseId())) / 5.0
+                    + LEVEL_WEIGHT * (1.0 - Math.abs(level(course) - level(candidate)) / 2.0);
+                if (categoryId(candidate) == categoryId(course)) {
+                    score += CATEGORY_WEIGHT;
+                }
+                Integer together = coCounts.get(candidate.getCourseId());
+                if (together != null) {
+                    // Cosine similarity of the two courses' student sets
+                    score += CO_ENROLLMENT_WEIGHT * together / Math.sqrt((double) coEnrollmentGraph.studentCount(courseId) * coEnrollmentGraph.studentCount(candidate.getCourseId()));
+                }
+                entry.setValue(score);
+            }
+
+            int[] best = scores.entrySet().stream()
+                .filter(entry -> courses.containsKey(entry.getKey()))
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(STORED_PER_COURSE)
+                .mapToInt(Map.Entry::getKey)
+                .toArray();
+            related.put(courseId, best);
+            for (int relatedId : best) {
+                cards.put(relatedId, courses.get(relatedId));
+                if (ratings.containsKey(relatedId)) {
+                    cardRatings.put(relatedId, ratings.get(relatedId));
+                }
+            }
+        }
+        deletedBeforeBuild = deletedBefore;
+        logger.info("Built related courses for {} courses in {} ms", related.size(), (System.nanoTime() - start) / 1_000_000);
+        return new Recommendations(related, cards, cardRatings);
+    }
+
+    // Bayesian average, so a course with one five-star review does not outrank a well reviewed one
+    private static double ratingScore(CourseRatingStats stats) {
+        if (stats == null) {
+            return RATING_PRIOR;
+        }
+        return (stats.getRatingSum() + RATING_PRIOR * RATING_PRIOR_REVIEWS) / (stats.getReviewCount() + RATING_PRIOR_REVIEWS);
+    }
+
+    private static int categoryId(Courses course) {
+        return course.getCategory() == null ? 0 : course.getCategory().getCategoryId();
+    }
+
+    private static int level(Courses course) {
+        if ("beginner".equals(course.getSkillLevel())) {
+            return 0;
+        }
+        return "advanced".equals(course.getSkillLevel()) ? 2 : 1;
+    }
+
+    // Ranked related course ids of every course, and the courses and rating summaries needed to show them
+    private static class Recommendations {
+
+        final Map<Integer, int[]> related;
+        final Map<Integer, Courses> cards;
+        final Map<Integer, CourseRatingStats> ratings;
+
+        Recommendations(Map<Integer, int[]> related, Map<Integer, Courses> cards, Map<Integer, CourseRatingStats> ratings) {
+            this.related = related;
+            this.cards = cards;
+            this.ratings = ratings;
+        }
+    }
+}
@@ -1,47 +1,196 @@
 package com.example.course_management_system.services;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.course_management_system.models.CourseRatingStats;
+import com.example.course_management_system.models.RatingHistogram;
+import com.example.course_management_system.models.ReviewCursor;
+import com.example.course_management_system.models.ReviewPage;
 import com.example.course_management_system.models.Reviews;
+import com.example.course_management_system.models.StoredRating;
+import com.example.course_management_system.repositories.CourseRatingStatsRepository;
 import com.example.course_management_system.repositories.ReviewRepository;
 
 @Service
 public class ReviewService {
+    public static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private ReviewRepository reviewRepository;
 
-    public ReviewService (ReviewRepository reviewRepository) {
+    @Autowired
+    private CourseRatingStatsRepository ratingStatsRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public ReviewService (ReviewRepository reviewRepository, CourseRatingStatsRepository ratingStatsRepository, ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
+        this.ratingStatsRepository = ratingStatsRepository;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<Reviews> getAllReviews() {
         return reviewRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<Reviews> getReviewsByCourseId(int courseId) {
         return reviewRepository.findByCourse_CourseId(courseId);
     }
 
-    public double calculateAverageRating(int courseId) {
-        List<Reviews> courseReviews = reviewRepository.findByCourse_CourseId(courseId);
-        if (courseReviews.isEmpty()) {
-            return 0.0;
+    /**
+     * Keyset-paged reviews of a course, newest first: the page after the
+     * review identified by {@code afterToken}, at most
+     * {@link #MAX_PAGE_SIZE} reviews long.
+     */
+    @Transactional(readOnly = true)
+    public ReviewPage getReviewPage(int courseId, String afterToken, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        ReviewCursor after = ReviewCursor.decode(afterToken);
+
+        // One extra row tells whether another page follows
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Reviews> reviews = after == null
+            ? reviewRepository.findNewestByCourse(courseId, limit)
+            : reviewRepository.findNewestByCourseAfter(courseId, after.getReviewDate(), after.getReviewId(), limit);
+        boolean hasNext = reviews.size() > pageSize;
+        if (hasNext) {
+            reviews = reviews.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            Reviews last = reviews.get(reviews.size() - 1);
+            nextCursor = new ReviewCursor(last.getReviewDate(), last.getReviewID()).encode();
         }
-        
-        double totalRating = 0.0;
-        for (Reviews review : courseReviews) {
-            totalRating += review.getRating();
+        return new ReviewPage(reviews, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public CourseRatingStats getRatingStats(int courseId) {
+        return ratingStatsRepository.findById(courseId).orElseGet(() -> new CourseRatingStats(courseId));
+    }
+
+    /**
+     * Rating summaries for many courses at once, read with one IN query per
+     * {@value IdBatches#SIZE} ids. Courses without reviews map to an empty
+     * summary.
+     */
+    @Transactional(readOnly = true)
+    public Map<Integer, CourseRatingStats> getRatingStats(Collection<Integer> courseIds) {
+        Map<Integer, CourseRatingStats> statsByCourse = new HashMap<>();
+        for (List<Integer> batch : IdBatches.of(courseIds)) {
+            for (CourseRatingStats stats : ratingStatsRepository.findAllById(batch)) {
+                statsByCourse.put(stats.getCourseId(), stats);
+            }
+        }
+        for (Integer id : courseIds) {
+            statsByCourse.computeIfAbsent(id, CourseRatingStats::new);
         }
-        
-        double average = totalRating / courseReviews.size();
-        return Math.round(average * 10.0) / 10.0;
+        return statsByCourse;
     }
 
+    @Transactional(readOnly = true)
+    public double calculateAverageRating(int courseId) {
+        return getRatingStats(courseId).getAverageRating();
+    }
+
+    @Transactional(readOnly = true)
     public int getReviewCount(int courseId) {
-        return reviewRepository.countByCourse_CourseId(courseId);
+        return (int) getRatingStats(courseId).getReviewCount();
+    }
+
+    // Inserts or edits a review and moves the course rating summary by the difference
+    @Transactional
+    public Reviews saveReview(Reviews review) {
+        int rating = review.getRating();
+        if (review.getReviewID() != 0) {
+            // Not findById: it may hand back this very review, already edited
+            Optional<StoredRating> stored = reviewRepository.findStoredRating(review.getReviewID());
+            if (stored.isPresent()) {
+                updateRatingStats(stored.get().getCourseId(), stored.get().getRating(), -1);
+            }
+        }
+        Reviews saved = reviewRepository.save(review);
+        updateRatingStats(saved.getCourse().getCourseId(), rating, 1);
+        eventPublisher.publishEvent(new CatalogChangedEvent("review"));
+        return saved;
+    }
+
+    @Transactional
+    public void deleteReview(int reviewId) {
+        Optional<StoredRating> stored = reviewRepository.findStoredRating(reviewId);
+        if (stored.isPresent()) {
+            reviewRepository.deleteById(reviewId);
+            updateRatingStats(stored.get().getCourseId(), stored.get().getRating(), -1);
+            eventPublisher.publishEvent(new CatalogChangedEvent("review"));
+        }
+    }
+
+    /**
+     * Adds imported ratings to the course summaries. {@code starCounts[s]} is
+     * the number of new {@code s}-star reviews of the course. Rows are locked
+     * in course id order so concurrent imports cannot deadlock on each other.
+     */
+    @Transactional
+    public void addRatings(Map<Integer, int[]> starCountsByCourse) {
+        for (Map.Entry<Integer, int[]> entry : new TreeMap<>(starCountsByCourse).entrySet()) {
+            CourseRatingStats stats = ratingStatsRepository.findForUpdate(entry.getKey())
+                .orElseGet(() -> new CourseRatingStats(entry.getKey()));
+            int[] starCounts = entry.getValue();
+            for (int star = 1; star <= 5; star++) {
+                if (starCounts[star] != 0) {
+                    stats.apply(star, starCounts[star]);
+                }
+            }
+            ratingStatsRepository.save(stats);
+        }
+        if (!starCountsByCourse.isEmpty()) {
+            eventPublisher.publishEvent(new CatalogChangedEvent("review"));
+        }
+    }
+
+    // Seeds the summaries on the first start against an empty table; later starts leave them to the write paths
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void seedRatingStats() {
+        if (ratingStatsRepository.count() == 0) {
+            rebuildRatingStats();
+        }
+    }
+
+    // Recomputes every course summary from the reviews; a repair run from the admin review page
+    @Transactional
+    public void rebuildRatingStats() {
+        ratingStatsRepository.deleteAllInBatch();
+        for (RatingHistogram histogram : reviewRepository.findRatingHistograms()) {
+            ratingStatsRepository.save(new CourseRatingStats(histogram.getCourseId(),
+                histogram.getOneStar(), histogram.getTwoStar(), histogram.getThreeStar(),
+                histogram.getFourStar(), histogram.getFiveStar()));
+        }
+        eventPublisher.publishEvent(new CatalogChangedEvent("review"));
+    }
+
+    private void updateRatingStats(int courseId, int rating, int delta) {
+        CourseRatingStats stats = ratingStatsRepository.findForUpdate(courseId)
+            .orElseGet(() -> new CourseRatingStats(courseId));
+        stats.apply(rating, delta);
+        ratingStatsRepository.save(stats);
     }
 
     // public List<Reviews> getReviewsByStudentId(int userId) {
@@ -1,8 +1,10 @@
 package com.example.course_management_system.services;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.example.course_management_system.config.CacheConfig;
 import com.example.course_management_system.models.Specializations;
 import com.example.course_management_system.models.Users;
 import com.example.course_management_system.repositories.SpecializationRepository;
@@ -17,6 +19,7 @@ public class SpecializationService {
         this.specializationRepository = specializationRepository;
     }
 
+    @Cacheable(cacheNames = CacheConfig.SPECIALIZATIONS, key = "#userId")
     public Specializations getSpecialization(int userId) {
         return specializationRepository.findByUser_UserId(userId);
     }
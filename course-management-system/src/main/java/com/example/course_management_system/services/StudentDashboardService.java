@@ -0,0 +1,81 @@
+package com.example.course_management_system.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.course_management_system.models.CoEnrolledCourse;
+import com.example.course_management_system.models.CourseRatingStats;
+import com.example.course_management_system.models.Courses;
+import com.example.course_management_system.models.Enrollments;
+import com.example.course_management_system.models.StudentDashboard;
+import com.example.course_management_system.repositories.EnrollmentRepository;
+
+/**
+ * Builds the student dashboard in a fixed number of statements: the
+ * student's enrollments with their courses and instructors in one query,
+ * split by status in memory, then one batch read of the rating summaries
+ * and one of the recommended courses.
+ */
+@Service
+public class StudentDashboardService {
+
+    public static final int RECOMMENDATIONS = 4;
+
+    private EnrollmentRepository enrollmentRepository;
+    private ReviewService reviewService;
+    private CourseService courseService;
+    private CoEnrollmentGraph coEnrollmentGraph;
+
+    public StudentDashboardService(EnrollmentRepository enrollmentRepository, ReviewService reviewService, CourseService courseService, CoEnrollmentGraph coEnrollmentGraph) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.reviewService = reviewService;
+        this.courseService = courseService;
+        this.coEnrollmentGraph = coEnrollmentGraph;
+    }
+
+    @Transactional(readOnly = true)
+    public StudentDashboard getDashboard(int userId) {
+        List<Courses> learnings = new ArrayList<>();
+        List<Courses> completeds = new ArrayList<>();
+        List<Courses> droppeds = new ArrayList<>();
+        List<Integer> courseIds = new ArrayList<>();
+        for (Enrollments enrollment : enrollmentRepository.findByUser_UserId(userId)) {
+            Courses course = enrollment.getCourse();
+            switch (String.valueOf(enrollment.getStatus())) {
+                case "learning":
+                    learnings.add(course);
+                    break;
+                case "completed":
+                    completeds.add(course);
+                    break;
+                case "dropped":
+                    droppeds.add(course);
+                    break;
+                default:
+                    continue;
+            }
+            courseIds.add(course.getCourseId());
+        }
+
+        Map<Integer, Double> courseRatings = new HashMap<>();
+        Map<Integer, Integer> courseReviewCounts = new HashMap<>();
+        for (CourseRatingStats stats : reviewService.getRatingStats(courseIds).values()) {
+            courseRatings.put(stats.getCourseId(), stats.getAverageRating());
+            courseReviewCounts.put(stats.getCourseId(), (int) stats.getReviewCount());
+        }
+
+        Map<Integer, Integer> recommendedStudents = new LinkedHashMap<>();
+        for (CoEnrolledCourse coEnrolled : coEnrollmentGraph.recommendFor(userId, RECOMMENDATIONS)) {
+            recommendedStudents.put(coEnrolled.getCourseId(), coEnrolled.getStudents());
+        }
+        List<Courses> recommendedCourses = courseService.getCoursesInOrder(new ArrayList<>(recommendedStudents.keySet()));
+
+        return new StudentDashboard(learnings, completeds, droppeds, courseRatings, courseReviewCounts, recommendedCourses, recommendedStudents);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.course_management_system.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.course_management_system.models.EnrollmentSummary;
+import com.example.course_management_system.models.Enrollments;
+import com.example.course_management_system.models.StudentEnrollmentCount;
+import com.example.course_management_system.models.StudentPage;
+import com.example.course_management_system.models.StudentSummary;
+import com.example.course_management_system.models.Users;
+import com.example.course_management_system.repositories.EnrollmentRepository;
+import com.example.course_management_system.repositories.UsersRepository;
+
+/**
+ * The admin student roster. A page is one keyset query on user id plus one
+ * grouped enrollment count query; a student's enrollments are only loaded
+ * when asked for.
+ */
+@Service
+public class StudentRosterService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private UsersRepository usersRepository;
+    private EnrollmentRepository enrollmentRepository;
+
+    public StudentRosterService(UsersRepository usersRepository, EnrollmentRepository enrollmentRepository) {
+        this.usersRepository = usersRepository;
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
+    // Students matching {@code search} (name, username or email; blank for all) after {@code afterId}
+    @Transactional(readOnly = true)
+    public StudentPage getStudentPage(String search, Integer afterId, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Users> users = usersRepository.findStudentsAfter(afterId == null ? 0 : afterId, toPattern(search), PageRequest.of(0, limit + 1));
+        boolean hasNext = users.size() > limit;
+        if (hasNext) {
+            users = users.subList(0, limit);
+        }
+
+        Map<Integer, StudentEnrollmentCount> counts = new HashMap<>();
+        List<Integer> userIds = new ArrayList<>();
+        for (Users user : users) {
+            userIds.add(user.getUserId());
+        }
+        if (!userIds.isEmpty()) {
+            for (StudentEnrollmentCount count : enrollmentRepository.countByStudentIds(userIds)) {
+                counts.put(count.getUserId(), count);
+            }
+        }
+
+        List<StudentSummary> students = new ArrayList<>();
+        for (Users user : users) {
+            StudentEnrollmentCount count = counts.get(user.getUserId());
+            students.add(new StudentSummary(user,
+                count == null ? 0 : (int) count.getTotal(),
+                count == null ? 0 : (int) count.getCompleted()));
+        }
+        Integer nextCursor = hasNext ? userIds.get(userIds.size() - 1) : null;
+        return new StudentPage(students, nextCursor);
+    }
+
+    public long countStudents(String search) {
+        return usersRepository.countStudents(toPattern(search));
+    }
+
+    @Transactional(readOnly = true)
+    public List<EnrollmentSummary> getEnrollments(int userId) {
+        List<EnrollmentSummary> summaries = new ArrayList<>();
+        for (Enrollments enrollment : enrollmentRepository.findByUser_UserId(userId)) {
+            summaries.add(new EnrollmentSummary(enrollment));
+        }
+        return summaries;
+    }
+
+    // Substring LIKE pattern with the wildcards of the input escaped (SQL Server also treats '[' as one)
+    private static String toPattern(String search) {
+        if (search == null || search.isBlank()) {
+            return null;
+        }
+        String escaped = search.trim().toLowerCase(Locale.ROOT)
+            .replace("!", "!!")
+            .replace("%", "!%")
+            .replace("_", "!_")
+            .replace("[", "![");
+        return "%" + escaped + "%";
+    }
+}
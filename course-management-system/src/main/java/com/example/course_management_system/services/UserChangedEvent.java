@@ -0,0 +1,25 @@
+package com.example.course_management_system.services;
+
+/**
+ * A {@link CatalogChangedEvent} for a single user that was saved or
+ * deleted, for views that only care about deletions.
+ */
+public class UserChangedEvent extends CatalogChangedEvent {
+
+    private final int userId;
+    private final boolean deleted;
+
+    public UserChangedEvent(int userId, boolean deleted) {
+        super("user");
+        this.userId = userId;
+        this.deleted = deleted;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+}
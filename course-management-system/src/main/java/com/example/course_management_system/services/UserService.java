@@ -1,11 +1,20 @@
 package com.example.course_management_system.services;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.course_management_system.config.CacheConfig;
 import com.example.course_management_system.models.Users;
 import com.example.course_management_system.repositories.UsersRepository;
 
@@ -14,28 +23,83 @@ public class UserService {
     @Autowired
     public UsersRepository userRepository;
 
-    public UserService (UsersRepository usersRepository) {
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UserVersionRegistry userVersionRegistry;
+
+    public UserService (UsersRepository usersRepository, ApplicationEventPublisher eventPublisher, UserVersionRegistry userVersionRegistry) {
         this.userRepository = usersRepository;
+        this.eventPublisher = eventPublisher;
+        this.userVersionRegistry = userVersionRegistry;
     }
 
+    @Transactional(readOnly = true)
     public Users getUserByUsername(String username) {
         return userRepository.findByUsername(username);  
     }
 
+    @Transactional(readOnly = true)
     public List<Users> getAllStudents(String role) {
         return userRepository.findByRole(role);
     }
 
+    // Students with the most enrollments, best first
+    @Transactional(readOnly = true)
+    public List<Users> getTopStudents(int limit) {
+        return findInOrder(userRepository.findTopStudentIdsByEnrollmentCount(PageRequest.of(0, limit)));
+    }
+
+    // Instructors whose courses have the most enrollments, best first
+    @Transactional(readOnly = true)
+    public List<Users> getTopInstructors(int limit) {
+        return findInOrder(userRepository.findTopInstructorIdsByStudentCount(PageRequest.of(0, limit)));
+    }
+
+    // Cached by username, which is not known here; deleting a student is rare
+    @CacheEvict(cacheNames = CacheConfig.USERS, allEntries = true)
+    @Transactional
     public void deleteStudent(int userId) {
         userRepository.deleteById(userId);
+        userVersionRegistry.bump(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(userId, true));
     }
 
+    @Transactional(readOnly = true)
     public Optional<Users> findUserById(int id) {
         return userRepository.findById(id);
     }
 
+    // For a logged-in user whose row has just changed: read-write, so it reads from the primary rather than a lagging replica
+    @Transactional
+    public Optional<Users> reloadUser(int id) {
+        return userRepository.findById(id);
+    }
+
+    // Only the password changes, which no catalog view shows, so no change event
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#username")
+    @Transactional
+    public void updatePassword(String username, String encodedPassword) {
+        userRepository.updatePassword(username, encodedPassword);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#user.username")
+    @Transactional
     public void saveUser(Users user) {
         userRepository.save(user);
+        userVersionRegistry.bump(user.getUserId());
+        eventPublisher.publishEvent(new UserChangedEvent(user.getUserId(), false));
+    }
+
+    // findAllById does not keep the order of the ids, which here carries the ranking
+    private List<Users> findInOrder(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, Users> byId = userRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Users::getUserId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
     }
 
 }
@@ -0,0 +1,42 @@
+package com.example.course_management_system.services;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.course_management_system.config.CacheConfig;
+import com.example.course_management_system.repositories.UsersRepository;
+
+/**
+ * Lets a logged-in principal tell whether the {@code Users} it holds is
+ * still current. Every change to a user raises the {@code version} column
+ * of its row, and a principal keeps the version of the row it was built
+ * from, so the copy is stale exactly when the stored version is past it.
+ * Versions are read from the database, so a change made through any node
+ * is seen by all of them; each node caches them briefly in
+ * {@link CacheConfig#USER_VERSIONS}, so most requests cost a map lookup.
+ */
+@Service
+public class UserVersionRegistry {
+
+    private UsersRepository usersRepository;
+
+    public UserVersionRegistry(UsersRepository usersRepository) {
+        this.usersRepository = usersRepository;
+    }
+
+    // Null when the user does not exist. Read-write, so it reads from the primary rather than a lagging replica
+    @Cacheable(cacheNames = CacheConfig.USER_VERSIONS, key = "#userId")
+    @Transactional
+    public Long currentVersion(int userId) {
+        return usersRepository.findVersion(userId);
+    }
+
+    // Call in the transaction that changes the user; the cached version is dropped once it commits
+    @CacheEvict(cacheNames = CacheConfig.USER_VERSIONS, key = "#userId")
+    @Transactional
+    public void bump(int userId) {
+        usersRepository.incrementVersion(userId);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.course_management_system.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Time of a login's password check at each bcrypt strength, for choosing
+ * {@code security.password.bcrypt-strength}. The checks run on as many
+ * threads as the hashing pool has by default, so the percentiles include
+ * the contention of a login spike. Prints the highest strength whose p99
+ * stays within {@code -Dtarget.p99.ms} (250 ms by default); run it on the
+ * production hardware:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt
+ * java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+ *     com.example.course_management_system.benchmarks.PasswordHashBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"8", "9", "10", "11", "12", "13"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        double targetMillis = Double.parseDouble(System.getProperty("target.p99.ms", "250"));
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        Options options = new OptionsBuilder()
+            .include(PasswordHashBenchmark.class.getSimpleName())
+            .threads(threads)
+            .build();
+
+        int chosen = 0;
+        for (RunResult result : new Runner(options).run()) {
+            int strength = Integer.parseInt(result.getParams().getParam("strength"));
+            double p99 = result.getPrimaryResult().getStatistics().getPercentile(99);
+            System.out.printf("strength %d: p99 %.1f ms on %d threads%n", strength, p99, threads);
+            if (p99 <= targetMillis && strength > chosen) {
+                chosen = strength;
+            }
+        }
+        if (chosen == 0) {
+            System.out.printf("No strength keeps p99 within %.0f ms%n", targetMillis);
+        } else {
+            System.out.printf("security.password.bcrypt-strength=%d%n", chosen);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.course_management_system.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.course_management_system.models.CustomUserDetails;
+import com.example.course_management_system.models.TokenPrincipal;
+import com.example.course_management_system.models.Users;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CompactSessionSerializerTests {
+
+    private final Users user = user(42, "instructor");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CompactSessionSerializer serializer = new CompactSessionSerializer(
+        userId -> userId == 42 ? user : null, getClass().getClassLoader(), meterRegistry);
+
+    @Test
+    void keepsOnlyTheUserIdRoleAndVersionOfALogin() {
+        CustomUserDetails details = new CustomUserDetails(user, Collections.singleton(new SimpleGrantedAuthority("instructor")), 3);
+        SecurityContext context = new SecurityContextImpl(
+            UsernamePasswordAuthenticationToken.authenticated(details, null, details.getAuthorities()));
+
+        byte[] bytes = serializer.serialize(context);
+        SecurityContext read = (SecurityContext) serializer.deserialize(bytes);
+
+        // Kind, id, role and version
+        assertEquals(1 + 4 + 2 + "instructor".length() + 8, bytes.length);
+        TokenPrincipal principal = assertInstanceOf(TokenPrincipal.class, read.getAuthentication().getPrincipal());
+        assertEquals(42, principal.getUserId());
+        assertEquals("instructor", principal.getRole());
+        assertEquals(3, principal.getVersion());
+        assertEquals(0, principal.getExpiresAt());
+        assertTrue(read.getAuthentication().isAuthenticated());
+        assertEquals(List.of("instructor"), read.getAuthentication().getAuthorities().stream().map(Object::toString).toList());
+        assertSame(user, principal.getUser());
+    }
+
+    @Test
+    void writesARestoredLoginBackTheSameWay() {
+        TokenPrincipal principal = new TokenPrincipal(7, "student", 9, 0, userId -> null);
+        SecurityContext context = new SecurityContextImpl(SignedTokenSecurityContextRepository.authentication(principal));
+
+        byte[] bytes = serializer.serialize(context);
+        TokenPrincipal read = (TokenPrincipal) ((SecurityContext) serializer.deserialize(bytes)).getAuthentication().getPrincipal();
+
+        assertEquals(7, read.getUserId());
+        assertEquals("student", read.getRole());
+        assertEquals(9, read.getVersion());
+        assertNull(read.getUser());
+    }
+
+    @Test
+    void roundTripsCsrfTokensAndStrings() {
+        CsrfToken token = (CsrfToken) serializer.deserialize(serializer.serialize(new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "abc-123")));
+        assertEquals("X-CSRF-TOKEN", token.getHeaderName());
+        assertEquals("_csrf", token.getParameterName());
+        assertEquals("abc-123", token.getToken());
+
+        assertEquals("", serializer.deserialize(serializer.serialize("")));
+        assertEquals("Khóa học ✓", serializer.deserialize(serializer.serialize("Khóa học ✓")));
+        // Past what writeUTF can take, so Java serialization instead
+        String longString = "é".repeat(40_000);
+        byte[] bytes = serializer.serialize(longString);
+        assertEquals(0, bytes[0]);
+        assertEquals(longString, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void fallsBackToJavaSerialization() {
+        ArrayList<Integer> recentlyViewed = new ArrayList<>(List.of(3, 1, 2));
+        byte[] bytes = serializer.serialize(recentlyViewed);
+
+        assertEquals(0, bytes[0]);
+        assertEquals(recentlyViewed, serializer.deserialize(bytes));
+        // Not logged in yet
+        SecurityContext empty = (SecurityContext) serializer.deserialize(serializer.serialize(new SecurityContextImpl()));
+        assertNull(empty.getAuthentication());
+    }
+
+    @Test
+    void rejectsWhatItCannotStoreOrRead() {
+        assertThrows(IllegalArgumentException.class, () -> serializer.serialize(new Object()));
+        assertThrows(IllegalArgumentException.class, () -> serializer.deserialize(new byte[] {9}));
+        assertThrows(IllegalArgumentException.class, () -> serializer.deserialize(new byte[0]));
+        byte[] truncated = serializer.serialize(new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "abc-123"));
+        assertThrows(IllegalArgumentException.class, () -> serializer.deserialize(Arrays.copyOf(truncated, truncated.length - 3)));
+    }
+
+    @Test
+    void recordsTheSizeOfEveryAttributeByKind() {
+        serializer.serialize("a");
+        serializer.serialize("bc");
+        serializer.serialize(new DefaultCsrfToken("h", "p", "t"));
+
+        Map<String, Long> counts = Map.of(
+            "string", meterRegistry.get("session.attribute.bytes").tag("kind", "string").summary().count(),
+            "csrf-token", meterRegistry.get("session.attribute.bytes").tag("kind", "csrf-token").summary().count(),
+            "java", meterRegistry.get("session.attribute.bytes").tag("kind", "java").summary().count());
+        assertEquals(Map.of("string", 2L, "csrf-token", 1L, "java", 0L), counts);
+        assertEquals(1 + 2 + 1 + 1 + 2 + 2, meterRegistry.get("session.attribute.bytes").tag("kind", "string").summary().totalAmount());
+    }
+
+    private static Users user(int userId, String role) {
+        Users user = new Users("u" + userId, "{noop}p", "First", "Last", null, null, null, role);
+        ReflectionTestUtils.setField(user, "userId", userId);
+        return user;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.course_management_system.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Routes through the proxy from {@link DataSourceConfig} with two in-memory
+ * H2 databases standing in for the primary and the replica, each holding a
+ * row with its own name.
+ */
+class DataSourceConfigTests {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        DataSource dataSource = routing(replica);
+        assertEquals("replica", readOnly(dataSource).execute(status -> node(dataSource)));
+    }
+
+    @Test
+    void readWriteTransactionsGoToThePrimary() {
+        DataSource dataSource = routing(replica);
+        assertEquals("primary", readWrite(dataSource).execute(status -> node(dataSource)));
+    }
+
+    @Test
+    void writeAfterReadOnlyTransactionGoesToThePrimary() {
+        DataSource dataSource = routing(replica);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly(dataSource).execute(status -> node(dataSource));
+        readWrite(dataSource).executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO node (name) VALUES ('written')"));
+
+        assertEquals(1, count(primary, "written"));
+        assertEquals(0, count(replica, "written"));
+    }
+
+    @Test
+    void withoutReplicaEverythingGoesToThePrimary() {
+        DataSource dataSource = routing(null);
+        assertEquals("primary", readOnly(dataSource).execute(status -> node(dataSource)));
+        assertEquals("primary", readWrite(dataSource).execute(status -> node(dataSource)));
+    }
+
+    private DataSource routing(DataSource replicaDataSource) {
+        StaticListableBeanFactory beans = replicaDataSource == null
+            ? new StaticListableBeanFactory()
+            : new StaticListableBeanFactory(Map.of("replicaDataSource", replicaDataSource));
+        return new DataSourceConfig().dataSource(primary, beans.getBeanProvider(DataSource.class));
+    }
+
+    private static TransactionTemplate readOnly(DataSource dataSource) {
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private static TransactionTemplate readWrite(DataSource dataSource) {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    private static String node(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node WHERE id = 1", String.class);
+    }
+
+    private static int count(DataSource dataSource, String name) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM node WHERE name = ?", Integer.class, name);
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setPoolName(name);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS node");
+        jdbcTemplate.execute("CREATE TABLE node (id INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.course_management_system.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.course_management_system.models.TokenPrincipal;
+
+import jakarta.servlet.http.Cookie;
+
+class SignedTokenCodecTests {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final SignedTokenCodec codec = codec(SECRET, Duration.ofHours(8));
+
+    @Test
+    void readsBackTheTokenItWrote() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        TokenPrincipal written = codec.writeCookie(response, 42, "student", 7);
+        String setCookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertTrue(setCookie.contains("HttpOnly"));
+        assertTrue(setCookie.contains("SameSite=Lax"));
+
+        TokenPrincipal read = codec.read(request(token(response)));
+
+        assertNotNull(read);
+        assertEquals(42, read.getUserId());
+        assertEquals("student", read.getRole());
+        assertEquals(7, read.getVersion());
+        assertEquals(written.getExpiresAt(), read.getExpiresAt());
+        long ttl = read.getExpiresAt() - Instant.now().getEpochSecond();
+        assertTrue(ttl > Duration.ofHours(8).toSeconds() - 5 && ttl <= Duration.ofHours(8).toSeconds());
+    }
+
+    @Test
+    void rejectsATamperedPayload() {
+        String token = issue(codec, 42, "student");
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[0]), StandardCharsets.UTF_8);
+        String forged = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(payload.replace(":student:", ":admin:").getBytes(StandardCharsets.UTF_8));
+
+        assertNull(codec.verify(forged + "." + parts[1]));
+    }
+
+    @Test
+    void rejectsATamperedSignature() {
+        String token = issue(codec, 42, "student");
+        String[] parts = token.split("\\.");
+        byte[] signature = Base64.getUrlDecoder().decode(parts[1]);
+        signature[0] ^= 1;
+
+        assertNull(codec.verify(parts[0] + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature)));
+        assertNull(codec.verify(parts[0] + "." + parts[1].substring(0, parts[1].length() - 2)));
+    }
+
+    @Test
+    void rejectsATokenSignedWithAnotherSecret() {
+        byte[] otherSecret = Arrays.copyOf(SECRET, SECRET.length);
+        otherSecret[0] = 'x';
+        String token = issue(codec(otherSecret, Duration.ofHours(8)), 42, "student");
+
+        assertNull(codec.verify(token));
+    }
+
+    @Test
+    void rejectsAnExpiredToken() {
+        String token = issue(codec(SECRET, Duration.ofSeconds(-1)), 42, "student");
+
+        assertNull(codec.verify(token));
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertNull(codec.verify(""));
+        assertNull(codec.verify("no-dot"));
+        assertNull(codec.verify("."));
+        assertNull(codec.verify("not*base64.sig"));
+        assertNull(codec.verify(issue(codec, 42, "student") + ".extra"));
+        assertNull(codec.read(new MockHttpServletRequest()));
+        assertNull(codec.read(request("garbage")));
+    }
+
+    @Test
+    void clearsTheCookie() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        codec.clearCookie(response);
+
+        String setCookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertTrue(setCookie.startsWith(SignedTokenCodec.COOKIE_NAME + "=;"));
+        assertTrue(setCookie.contains("Max-Age=0"));
+    }
+
+    @Test
+    void refusesAShortSecret() {
+        assertThrows(IllegalArgumentException.class, () -> codec(new byte[31], Duration.ofHours(8)));
+    }
+
+    private static SignedTokenCodec codec(byte[] secret, Duration ttl) {
+        return new SignedTokenCodec(secret, ttl, false, userId -> null);
+    }
+
+    private static String issue(SignedTokenCodec codec, int userId, String role) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        codec.writeCookie(response, userId, role, 0);
+        return token(response);
+    }
+
+    // The value of the AUTH cookie set on the response
+    private static String token(MockHttpServletResponse response) {
+        String setCookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        return setCookie.substring(SignedTokenCodec.COOKIE_NAME.length() + 1, setCookie.indexOf(';'));
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(SignedTokenCodec.COOKIE_NAME, token));
+        return request;
+    }
+}
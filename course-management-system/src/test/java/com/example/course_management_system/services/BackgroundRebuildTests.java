@@ -0,0 +1,114 @@
+package com.example.course_management_system.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class BackgroundRebuildTests {
+
+    @Test
+    void buildsOnceForConcurrentFirstReads() throws Exception {
+        AtomicInteger builds = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        BackgroundRebuild<Integer> value = new BackgroundRebuild<>("test", null, () -> {
+            await(release);
+            return builds.incrementAndGet();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> reads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                reads.add(executor.submit(value::get));
+            }
+            release.countDown();
+            for (Future<Integer> read : reads) {
+                assertEquals(1, read.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void rebuildsOnlyWhenMarkedStale() {
+        AtomicInteger builds = new AtomicInteger();
+        BackgroundRebuild<Integer> value = new BackgroundRebuild<>("test", null, builds::incrementAndGet);
+
+        value.rebuildIfNeeded();
+        value.rebuildIfNeeded();
+        assertEquals(1, value.get());
+
+        value.markStale();
+        value.rebuildIfNeeded();
+        assertEquals(2, value.get());
+    }
+
+    @Test
+    void rebuildsOnceItReachesItsMaximumAge() {
+        AtomicInteger builds = new AtomicInteger();
+        BackgroundRebuild<Integer> value = new BackgroundRebuild<>("test", Duration.ZERO, builds::incrementAndGet);
+
+        value.rebuildIfNeeded();
+        value.rebuildIfNeeded();
+
+        assertEquals(2, value.get());
+    }
+
+    @Test
+    void keepsThePreviousValueWhenABuildFailsAndRetriesOnTheNextCheck() {
+        AtomicInteger builds = new AtomicInteger();
+        BackgroundRebuild<Integer> value = new BackgroundRebuild<>("test", null, () -> {
+            if (builds.incrementAndGet() == 2) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return builds.get();
+        });
+        value.rebuildIfNeeded();
+
+        value.markStale();
+        value.rebuildIfNeeded();
+        assertEquals(1, value.get());
+
+        value.rebuildIfNeeded();
+        assertEquals(3, value.get());
+    }
+
+    @Test
+    void aWriteDuringABuildTriggersAnotherOne() {
+        AtomicInteger builds = new AtomicInteger();
+        List<BackgroundRebuild<Integer>> self = new ArrayList<>();
+        BackgroundRebuild<Integer> value = new BackgroundRebuild<>("test", null, () -> {
+            if (builds.incrementAndGet() == 1) {
+                self.get(0).markStale();
+            }
+            return builds.get();
+        });
+        self.add(value);
+
+        value.rebuildIfNeeded();
+        value.rebuildIfNeeded();
+        value.rebuildIfNeeded();
+
+        assertEquals(2, value.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
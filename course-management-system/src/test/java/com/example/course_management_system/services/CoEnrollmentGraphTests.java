@@ -0,0 +1,152 @@
+package com.example.course_management_system.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.example.course_management_system.models.CoEnrolledCourse;
+
+class CoEnrollmentGraphTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private CoEnrollmentGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:coenrollment;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS Enrollments");
+        jdbcTemplate.execute("CREATE TABLE Enrollments (user_id INT, course_id INT, status VARCHAR(20))");
+        graph = new CoEnrollmentGraph(jdbcTemplate);
+    }
+
+    @Test
+    void intIntMapGrowsAndKeepsEveryEntry() {
+        CoEnrollmentGraph.IntIntMap map = new CoEnrollmentGraph.IntIntMap(2);
+        assertEquals(4, map.capacity());
+        for (int key = 1; key <= 1000; key++) {
+            map.put(key, key * 3);
+        }
+        map.add(7, 5);
+        map.add(8, -24);
+
+        assertEquals(1000, map.size());
+        assertEquals(1, Integer.bitCount(map.capacity()));
+        assertTrue(map.size() * 4 <= map.capacity() * 3);
+        Map<Integer, Integer> entries = entries(map);
+        assertEquals(1000, entries.size());
+        for (int key = 1; key <= 1000; key++) {
+            assertTrue(map.containsKey(key));
+        }
+        assertEquals(26, entries.get(7));
+        assertEquals(0, entries.get(8));
+        assertEquals(3000, entries.get(1000));
+        assertFalse(map.containsKey(1001));
+    }
+
+    @Test
+    void topOrdersByCountThenCourseId() {
+        CoEnrollmentGraph.IntIntMap counts = new CoEnrollmentGraph.IntIntMap(8);
+        counts.put(9, 5);
+        counts.put(2, 7);
+        counts.put(3, 5);
+        counts.put(4, 0);
+        counts.put(5, 9);
+        counts.put(6, -1);
+        counts.put(1, 5);
+
+        assertEquals(List.of("5=9", "2=7", "1=5"), ids(CoEnrollmentGraph.top(counts, null, 3)));
+        // Counted down to zero or below means no shared students
+        assertEquals(List.of("5=9", "2=7", "1=5", "3=5", "9=5"), ids(CoEnrollmentGraph.top(counts, null, 10)));
+        assertEquals(List.of(), ids(CoEnrollmentGraph.top(counts, null, 0)));
+
+        CoEnrollmentGraph.IntIntMap excluded = new CoEnrollmentGraph.IntIntMap(2);
+        excluded.put(2, 1);
+        excluded.put(1, 1);
+        assertEquals(List.of("5=9", "3=5", "9=5"), ids(CoEnrollmentGraph.top(counts, excluded, 10)));
+    }
+
+    @Test
+    void enrollmentPastTheCapTakesBackTheStudentsPairs() {
+        int cap = CoEnrollmentGraph.MAX_COURSES_PER_STUDENT;
+        for (int courseId = 1; courseId <= cap; courseId++) {
+            enroll(1, courseId);
+        }
+        enroll(2, 1);
+        enroll(2, 2);
+        graph.rebuild();
+        assertEquals(List.of("2=2"), ids(graph.alsoTook(1, 1)));
+
+        graph.onCatalogChanged(new EnrollmentsAddedEvent(new int[] {1, 3}, new int[] {cap + 1, 1}));
+
+        // Student 1 no longer counts towards any pair, student 3 has only one course
+        assertEquals(List.of("2=1"), ids(graph.alsoTook(1, cap + 1)));
+        assertEquals(List.of(), ids(graph.alsoTook(cap + 1, cap + 1)));
+        assertEquals(1, graph.studentCount(cap + 1));
+        assertEquals(3, graph.studentCount(1));
+
+        // Same counts as a build from scratch
+        List<List<String>> incremental = List.of(ids(graph.alsoTook(1, cap + 1)), ids(graph.alsoTook(2, cap + 1)));
+        enroll(1, cap + 1);
+        enroll(3, 1);
+        graph.rebuild();
+        assertEquals(incremental, List.of(ids(graph.alsoTook(1, cap + 1)), ids(graph.alsoTook(2, cap + 1))));
+    }
+
+    @Test
+    void onlyDeletionsMarkTheGraphStale() {
+        enroll(1, 1);
+        enroll(1, 2);
+        graph.rebuild();
+        // Written behind the graph's back, so it only shows up after a rebuild
+        enroll(2, 1);
+        enroll(2, 2);
+
+        graph.onCatalogChanged(new CourseChangedEvent(1, false));
+        graph.onCatalogChanged(new UserChangedEvent(1, false));
+        graph.onCatalogChanged(new CatalogChangedEvent("lesson"));
+        graph.rebuildIfStale();
+        assertEquals(List.of("2=1"), ids(graph.alsoTook(1, 5)));
+
+        graph.onCatalogChanged(new UserChangedEvent(3, true));
+        graph.rebuildIfStale();
+        assertEquals(List.of("2=2"), ids(graph.alsoTook(1, 5)));
+
+        enroll(3, 1);
+        enroll(3, 2);
+        graph.onCatalogChanged(new CourseChangedEvent(9, true));
+        graph.rebuildIfStale();
+        assertEquals(List.of("2=3"), ids(graph.alsoTook(1, 5)));
+    }
+
+    private void enroll(int userId, int courseId) {
+        jdbcTemplate.update("INSERT INTO Enrollments (user_id, course_id, status) VALUES (?, ?, 'active')", userId, courseId);
+    }
+
+    private static Map<Integer, Integer> entries(CoEnrollmentGraph.IntIntMap map) {
+        Map<Integer, Integer> entries = new HashMap<>();
+        for (int slot = 0; slot < map.capacity(); slot++) {
+            if (map.keyAt(slot) != CoEnrollmentGraph.IntIntMap.FREE) {
+                entries.put(map.keyAt(slot), map.valueAt(slot));
+            }
+        }
+        return entries;
+    }
+
+    private static List<String> ids(List<CoEnrolledCourse> courses) {
+        List<String> ids = new ArrayList<>();
+        for (CoEnrolledCourse course : courses) {
+            ids.add(course.getCourseId() + "=" + course.getStudents());
+        }
+        return ids;
+    }
+}
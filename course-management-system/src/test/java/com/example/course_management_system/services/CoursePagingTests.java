@@ -0,0 +1,137 @@
+package com.example.course_management_system.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.course_management_system.models.Categories;
+import com.example.course_management_system.models.CourseFilter;
+import com.example.course_management_system.models.CoursePage;
+import com.example.course_management_system.models.CourseRatingStats;
+import com.example.course_management_system.models.CourseSort;
+import com.example.course_management_system.models.Courses;
+import com.example.course_management_system.models.Users;
+
+/**
+ * Walks the catalog page by page at every page size and checks that the
+ * pages join up to the full ordering: rows with equal sort keys (the same
+ * creation date, the same rating, no creation date) are neither repeated
+ * nor skipped at a page boundary, and a last page that is exactly full
+ * has no next cursor.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(CourseService.class)
+class CoursePagingTests {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CourseService courseService;
+
+    private Categories category;
+    private Users instructor;
+
+    @BeforeEach
+    void setUp() {
+        category = entityManager.persist(new Categories("Programming"));
+        instructor = entityManager.persist(new Users("teacher", "{noop}p", "T", "T", null, "t@example.com", null, "instructor"));
+    }
+
+    @Test
+    void newestBreaksTiesOnIdAndPutsUndatedCoursesLast() {
+        int a = course(NOON, null);
+        int b = course(NOON, null);
+        int c = course(NOON.minusDays(1), null);
+        int d = course(null, null);
+        int e = course(NOON, null);
+        int f = course(null, null);
+        int g = course(NOON.plusDays(1), null);
+
+        assertWalks(CourseSort.NEWEST, List.of(g, e, b, a, c, f, d));
+    }
+
+    @Test
+    void ratingBreaksTiesOnIdAndTreatsUnratedAsZero() {
+        int a = course(NOON, 4.0);
+        int b = course(NOON, 4.5);
+        int c = course(NOON, null);
+        int d = course(NOON, 4.0);
+        int e = course(NOON, 4.0);
+        int f = course(NOON, null);
+
+        assertWalks(CourseSort.RATING, List.of(b, e, d, a, f, c));
+    }
+
+    @Test
+    void idOrderIgnoresDatesAndRatings() {
+        int a = course(NOON, 1.0);
+        int b = course(null, 5.0);
+        int c = course(NOON.plusDays(1), null);
+
+        assertWalks(CourseSort.ID, List.of(a, b, c));
+    }
+
+    @Test
+    void cursorOfAnotherOrderingStartsOver() {
+        int a = course(NOON, 3.0);
+        int b = course(NOON.plusDays(1), 5.0);
+        CoursePage first = courseService.getCoursePage(new CourseFilter(), CourseSort.RATING, null, 1);
+
+        CoursePage page = courseService.getCoursePage(new CourseFilter(), CourseSort.NEWEST, first.getNextCursor(), 1);
+
+        assertEquals(List.of(b), ids(first));
+        assertEquals(List.of(b), ids(page));
+        assertEquals(List.of(a), ids(courseService.getCoursePage(new CourseFilter(), CourseSort.NEWEST, page.getNextCursor(), 1)));
+    }
+
+    private void assertWalks(CourseSort sort, List<Integer> expected) {
+        entityManager.flush();
+        entityManager.clear();
+        for (int size = 1; size <= expected.size() + 1; size++) {
+            List<Integer> walked = new ArrayList<>();
+            int pages = 0;
+            String cursor = null;
+            do {
+                CoursePage page = courseService.getCoursePage(new CourseFilter(), sort, cursor, size);
+                walked.addAll(ids(page));
+                cursor = page.getNextCursor();
+                pages++;
+            } while (cursor != null);
+            assertEquals(expected, walked, sort + " in pages of " + size);
+            assertEquals((expected.size() + size - 1) / size, pages, sort + " in pages of " + size);
+        }
+        assertNull(courseService.getCoursePage(new CourseFilter(), sort, null, expected.size()).getNextCursor());
+    }
+
+    private int course(LocalDateTime createdAt, Double rating) {
+        Courses course = new Courses("Course", "", category, "beginner", "published", 60, null, instructor);
+        ReflectionTestUtils.setField(course, "createdAt", createdAt);
+        int courseId = entityManager.persist(course).getCourseId();
+        if (rating != null) {
+            // The catalog only reads the average
+            CourseRatingStats stats = new CourseRatingStats(courseId);
+            ReflectionTestUtils.setField(stats, "reviewCount", 1L);
+            ReflectionTestUtils.setField(stats, "averageRating", rating);
+            entityManager.persist(stats);
+        }
+        return courseId;
+    }
+
+    private static List<Integer> ids(CoursePage page) {
+        return page.getCourses().stream().map(Courses::getCourseId).toList();
+    }
+}
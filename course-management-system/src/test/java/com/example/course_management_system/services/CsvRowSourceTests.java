@@ -0,0 +1,96 @@
+package com.example.course_management_system.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class CsvRowSourceTests {
+
+    @Test
+    void mapsFieldsByLowercasedTrimmedHeader() throws IOException {
+        List<Map<String, String>> rows = read(" Type ,NAME,duration\ncourse,Java,90\nlesson,Intro,15\n");
+
+        assertEquals(List.of(
+            Map.of("type", "course", "name", "Java", "duration", "90"),
+            Map.of("type", "lesson", "name", "Intro", "duration", "15")), rows);
+    }
+
+    @Test
+    void readsQuotedCommasAndDoubledQuotes() throws IOException {
+        List<Map<String, String>> rows = read("name,description\n\"Java, the basics\",\"Say \"\"hello\"\"\"\n");
+
+        assertEquals(List.of(Map.of("name", "Java, the basics", "description", "Say \"hello\"")), rows);
+    }
+
+    @Test
+    void keepsLineBreaksInsideQuotes() throws IOException {
+        List<Map<String, String>> rows = read("name,description\r\nJava,\"Line one\nLine two\r\nLine three\"\r\nSQL,plain\r\n");
+
+        assertEquals(List.of(
+            Map.of("name", "Java", "description", "Line one\nLine two\r\nLine three"),
+            Map.of("name", "SQL", "description", "plain")), rows);
+    }
+
+    @Test
+    void skipsBlankLinesAndReadsALastLineWithoutBreak() throws IOException {
+        List<Map<String, String>> rows = read("\nname,duration\n\nJava,90\r\n\r\n\nSQL,30");
+
+        assertEquals(List.of(Map.of("name", "Java", "duration", "90"), Map.of("name", "SQL", "duration", "30")), rows);
+    }
+
+    @Test
+    void keepsEmptyFieldsAndIgnoresMissingOrExtraOnes() throws IOException {
+        List<Map<String, String>> rows = read("a,b,c\n,\"\",\nx\n1,2,3,4\n\"\"\n");
+
+        assertEquals(List.of(
+            Map.of("a", "", "b", "", "c", ""),
+            Map.of("a", "x"),
+            Map.of("a", "1", "b", "2", "c", "3"),
+            Map.of("a", "")), rows);
+    }
+
+    @Test
+    void returnsNoRowsForAnEmptyFileOrOnlyAHeader() throws IOException {
+        assertEquals(List.of(), read(""));
+        assertEquals(List.of(), read("\n\n"));
+        assertEquals(List.of(), read("name,duration\n"));
+    }
+
+    @Test
+    void keepsReturningNullAtTheEnd() throws IOException {
+        CourseImportService.RowSource source = new CourseImportService.CsvRowSource(new StringReader("name\nJava"));
+        assertEquals(Map.of("name", "Java"), source.next());
+        assertNull(source.next());
+        assertNull(source.next());
+    }
+
+    @Test
+    void rejectsAQuotedFieldLeftOpenNamingTheLineItStartsOn() throws IOException {
+        // Lines 2-3 hold one quoted field over a \r\n break, line 4 a lone \r, and the open quote is on line 5
+        CourseImportService.RowSource source = new CourseImportService.CsvRowSource(
+            new StringReader("name,description\nJava,\"one\r\ntwo\"\nSQL,x\rGo,\"never\nclosed"));
+        assertEquals(Map.of("name", "Java", "description", "one\r\ntwo"), source.next());
+        assertEquals(Map.of("name", "SQL", "description", "x"), source.next());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, source::next);
+        assertEquals("Line 5: quoted field is not closed", e.getMessage());
+    }
+
+    private static List<Map<String, String>> read(String csv) throws IOException {
+        CourseImportService.RowSource source = new CourseImportService.CsvRowSource(new StringReader(csv));
+        List<Map<String, String>> rows = new ArrayList<>();
+        Map<String, String> row;
+        while ((row = source.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.course_management_system.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.course_management_system.models.Categories;
+import com.example.course_management_system.models.Courses;
+import com.example.course_management_system.models.ReviewPage;
+import com.example.course_management_system.models.Reviews;
+import com.example.course_management_system.models.Users;
+
+/**
+ * Pages through a course's reviews, newest first, the way the course page
+ * does, including reviews posted while a reader is paging.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(ReviewService.class)
+class ReviewPagingTests {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    private Users student;
+    private Courses course;
+    private Courses otherCourse;
+
+    @BeforeEach
+    void setUp() {
+        Categories category = entityManager.persist(new Categories("Programming"));
+        Users instructor = entityManager.persist(new Users("teacher", "{noop}p", "T", "T", null, "t@example.com", null, "instructor"));
+        student = entityManager.persist(new Users("student", "{noop}p", "S", "S", null, "s@example.com", null, "student"));
+        course = entityManager.persist(new Courses("Java", "", category, "beginner", "published", 60, null, instructor));
+        otherCourse = entityManager.persist(new Courses("SQL", "", category, "beginner", "published", 60, null, instructor));
+    }
+
+    @Test
+    void reviewsPostedAtTheSameTimeSplitAcrossPagesByNewestId() {
+        int a = review(course, NOON);
+        int b = review(course, NOON);
+        review(otherCourse, NOON);
+        int c = review(course, NOON.minusMinutes(1));
+        int d = review(course, NOON);
+        review(otherCourse, NOON.plusDays(1));
+        int e = review(course, NOON.plusSeconds(1));
+        List<Integer> expected = List.of(e, d, b, a, c);
+        entityManager.flush();
+        entityManager.clear();
+
+        for (int size = 1; size <= expected.size() + 1; size++) {
+            List<List<Integer>> pages = walk(size);
+            assertEquals(expected, pages.stream().flatMap(List::stream).toList(), "pages of " + size);
+            // A last page that is exactly full ends the walk
+            assertEquals((expected.size() + size - 1) / size, pages.size(), "pages of " + size);
+        }
+    }
+
+    @Test
+    void reviewPostedWhilePagingDoesNotShiftLaterPages() {
+        int a = review(course, NOON.minusHours(3));
+        int b = review(course, NOON.minusHours(2));
+        int c = review(course, NOON.minusHours(1));
+        entityManager.flush();
+        entityManager.clear();
+
+        ReviewPage first = reviewService.getReviewPage(course.getCourseId(), null, 2);
+        review(course, NOON);
+        entityManager.flush();
+        ReviewPage second = reviewService.getReviewPage(course.getCourseId(), first.getNextCursor(), 2);
+
+        assertEquals(List.of(c, b), ids(first));
+        // With an offset the new review would push b onto this page again
+        assertEquals(List.of(a), ids(second));
+        assertNull(second.getNextCursor());
+    }
+
+    private List<List<Integer>> walk(int size) {
+        List<List<Integer>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            ReviewPage page = reviewService.getReviewPage(course.getCourseId(), cursor, size);
+            pages.add(ids(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return pages;
+    }
+
+    private int review(Courses reviewed, LocalDateTime reviewDate) {
+        Reviews review = new Reviews();
+        review.setComment("Fine");
+        review.setRating(4);
+        review.setUser(student);
+        review.setCourse(reviewed);
+        ReflectionTestUtils.setField(review, "reviewDate", reviewDate);
+        return entityManager.persist(review).getReviewID();
+    }
+
+    private static List<Integer> ids(ReviewPage page) {
+        return page.getReviews().stream().map(Reviews::getReviewID).toList();
+    }
+}